@@ -22,6 +22,7 @@ public class ApiConstants {
 
     public static final String BS_MAP_BY_KEY = BS_API_PRE_URL + "/maps/id/";
     public static final String BS_MAP_BY_HASH_URL = BS_API_PRE_URL + "/maps/hash/";
+    public static final String BS_MAPS_BY_IDS_URL = BS_API_PRE_URL + "/maps/ids/";
 
     public static final String BS_DEFAULT_MAP_URL = BS_PRE_URL + "/maps/";
 
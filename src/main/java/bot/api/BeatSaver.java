@@ -5,34 +5,67 @@ import bot.dto.Playlist;
 import bot.dto.PlaylistSong;
 import bot.dto.Song;
 import bot.dto.rankedmaps.BeatSaverRankedMap;
-import bot.dto.rankedmaps.BeatSaverRankedMaps;
+import bot.dto.rankedmaps.RankedMapEntry;
 import bot.dto.rankedmaps.RankedMaps;
+import bot.dto.rankedmaps.VersionsItem;
 import bot.listeners.PlaylistDifficultyListener;
 import bot.main.BotConstants;
 import bot.utils.DiscordLogger;
 import bot.utils.Messages;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
 import com.google.gson.Gson;
-import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
 import net.dv8tion.jda.api.entities.MessageChannel;
 import net.dv8tion.jda.api.entities.TextChannel;
-import org.apache.commons.io.FileUtils;
 
-import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class BeatSaver {
 
-    private final HttpMethods http;
+    private static final int MAX_INCREMENTAL_SYNC_PAGES = 10;
+    private static final int MAX_MAPS_PER_REQUEST = 50;
+    private static final Type SONGS_BY_ID_TYPE = new TypeToken<Map<String, Song>>() {
+    }.getType();
+    private static final int MAX_CACHED_SONGS = 5000;
+
+    // A hash identifies one immutable map version, a key resolves to whatever version is the latest right now.
+    // Cached songs are shared between commands and must not be modified.
+    private static final LoadingCache<String, Song> songsByHash = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_SONGS)
+            .expireAfterWrite(24, TimeUnit.HOURS)
+            .recordStats()
+            .build(new SongLoader(ApiConstants.BS_MAP_BY_HASH_URL, ApiConstants.BS_MAP_BY_HASH_URL));
+    private static final LoadingCache<String, Song> songsByKey = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_SONGS)
+            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .recordStats()
+            .build(new SongLoader(ApiConstants.BS_MAP_BY_KEY, ApiConstants.BS_MAPS_BY_IDS_URL));
+
+    // Ranked crawls and syncs run unattended, they must not take tokens from commands someone is waiting for
+    private final HttpMethods backgroundHttp;
     private final Gson gson;
     private final RankedMaps rankedMaps;
+    private final RankedMapsSnapshot rankedMapsSnapshot = new RankedMapsSnapshot();
 
     public BeatSaver() {
-        http = new HttpMethods();
+        backgroundHttp = new HttpMethods(RequestPriority.BACKGROUND);
         gson = new Gson();
         rankedMaps = new RankedMaps();
     }
@@ -64,7 +97,8 @@ public class BeatSaver {
     public void sendRecruitingPlaylistInChannel(List<String> mapKeys, String playlistTitle, String playlistImageBase64, MessageEventDTO event) {
         TextChannel channel = event.getChannel();
 
-        LinkedList<Song> songs = mapKeys.stream().map(this::fetchSongByKey).collect(Collectors.toCollection(LinkedList::new));
+        Map<String, Song> songsByKey = fetchSongsByKeys(mapKeys);
+        LinkedList<Song> songs = mapKeys.stream().map(songsByKey::get).collect(Collectors.toCollection(LinkedList::new));
         Playlist playlist;
         try {
             playlist = buildPlaylist(convertSongsToPlaylistSongs(songs), playlistImageBase64, playlistTitle);
@@ -97,49 +131,91 @@ public class BeatSaver {
     }
 
     private Playlist buildPlaylistByKeys(List<String> mapKeys, String image, String playlistTitle) {
-        LinkedList<Song> songs = mapKeys.stream().map(this::fetchSongByKey).collect(Collectors.toCollection(LinkedList::new));
+        Map<String, Song> songsByKey = fetchSongsByKeys(mapKeys);
+        LinkedList<Song> songs = mapKeys.stream().map(songsByKey::get).collect(Collectors.toCollection(LinkedList::new));
         return buildPlaylist(convertSongsToPlaylistSongs(songs), image, playlistTitle);
     }
 
     public void createAndSendPlaylistFile(Playlist playlist, MessageChannel channel) {
-        String playlistJson = gson.toJson(playlist);
-        File playlistFile = new File(BotConstants.RESOURCES_PATH + playlist.getPlaylistTitle().toLowerCase() + ".json");
-        try {
-            FileUtils.writeStringToFile(playlistFile, playlistJson, "UTF-8");
-            if (playlistFile.exists()) {
-                Messages.sendFile(playlistFile, playlistFile.getName(), channel);
-            }
-        } catch (IOException e) {
-            DiscordLogger.sendLogInChannel(e.getMessage(), DiscordLogger.HTTP_ERRORS);
-            e.printStackTrace();
-        }
-        playlistFile.delete();
+        byte[] playlistJson = gson.toJson(playlist).getBytes(StandardCharsets.UTF_8);
+        Messages.sendFile(playlistJson, playlist.getPlaylistTitle().toLowerCase() + ".json", channel);
     }
 
-    private Song fetchSongByKey(String key) {
-        String infoUrl = ApiConstants.BS_MAP_BY_KEY + key;
-        JsonObject response = http.fetchJsonObject(infoUrl);
-        return getSongFromJson(response);
+    /**
+     * Concurrent calls for the same hash share one request. Songs that could not be fetched are not cached.
+     */
+    public Song fetchSongByHash(String hash) {
+        return getCached(songsByHash, hash);
     }
 
-    public Song fetchSongByHash(String hash) {
-        String infoUrl = ApiConstants.BS_MAP_BY_HASH_URL + hash;
-        JsonObject response = http.fetchJsonObject(infoUrl);
-        return getSongFromJson(response);
+    public Song fetchSongByKey(String key) {
+        return getCached(songsByKey, key);
     }
 
-    private Song getSongFromJson(JsonObject json) {
-        if (json == null) {
+    public static String getSongCacheStatsSummary() {
+        return "By hash: " + formatCacheStats(songsByHash) + "   By key: " + formatCacheStats(songsByKey);
+    }
+
+    private static Song getCached(LoadingCache<String, Song> cache, String id) {
+        if (id == null || id.trim().isEmpty()) {
             return null;
         }
         try {
-            return gson.fromJson(json, Song.class);
-        } catch (NullPointerException e) {
-            DiscordLogger.sendLogInChannel(e.getMessage(), DiscordLogger.HTTP_ERRORS);
+            return cache.getUnchecked(id.trim().toLowerCase());
+        } catch (CacheLoader.InvalidCacheLoadException e) {
+            // The loader returned null, the request already logged why
             return null;
         }
     }
 
+    private static String formatCacheStats(LoadingCache<String, Song> cache) {
+        CacheStats stats = cache.stats();
+        return cache.size() + " cached, " + stats.hitCount() + " hits, " + stats.missCount() + " misses, " + stats.evictionCount() + " evictions";
+    }
+
+    /**
+     * Looks up the maps of all given hashes with one request per 50 hashes that are not cached yet.
+     *
+     * @return the found maps keyed by the hashes as they were passed in, unknown hashes are missing
+     */
+    public Map<String, Song> fetchSongsByHashes(Collection<String> hashes) {
+        return getAllCached(songsByHash, hashes);
+    }
+
+    /**
+     * Looks up the maps of all given keys with one request per 50 keys that are not cached yet.
+     *
+     * @return the found maps keyed by the keys as they were passed in, unknown keys are missing
+     */
+    public Map<String, Song> fetchSongsByKeys(Collection<String> keys) {
+        return getAllCached(songsByKey, keys);
+    }
+
+    private static Map<String, Song> getAllCached(LoadingCache<String, Song> cache, Collection<String> ids) {
+        List<String> distinctIds = ids.stream()
+                .filter(id -> id != null && !id.trim().isEmpty())
+                .map(id -> id.trim().toLowerCase())
+                .distinct()
+                .collect(Collectors.toList());
+
+        Map<String, Song> songsByLowerId;
+        try {
+            songsByLowerId = cache.getAll(distinctIds);
+        } catch (CacheLoader.InvalidCacheLoadException | ExecutionException e) {
+            // Some ids are unknown or their request failed, everything that was found is cached by now
+            songsByLowerId = cache.getAllPresent(distinctIds);
+        }
+
+        Map<String, Song> songs = new LinkedHashMap<>();
+        for (String id : ids) {
+            Song song = id == null ? null : songsByLowerId.get(id.trim().toLowerCase());
+            if (song != null) {
+                songs.put(id, song);
+            }
+        }
+        return songs;
+    }
+
     private List<PlaylistSong> convertSongsToPlaylistSongs(List<Song> songs) {
         if (songs == null) {
             return null;
@@ -147,40 +223,157 @@ public class BeatSaver {
         return songs.stream().map(song -> new PlaylistSong(song.getId(), song.getName())).collect(Collectors.toList());
     }
 
-    public RankedMaps fetchAllRankedMaps() {
-        try {
-            List<BeatSaverRankedMap> resultMaps = new ArrayList<>();
-            DiscordLogger.sendLogInChannel("Fetching ranked maps...", DiscordLogger.INFO);
-            for (int i = 0; i < 10000; i++) {
-                try {
-                    JsonObject rankedMapsJson = http.fetchJsonObject(getRankedMapsUrlByPage(i));
-                    BeatSaverRankedMaps pageResult = gson.fromJson(rankedMapsJson, BeatSaverRankedMaps.class);
-                    List<BeatSaverRankedMap> pageRankedMaps = pageResult.getRankedMaps();
-                    if (pageRankedMaps.size() > 0) {
-                        resultMaps.addAll(pageRankedMaps);
-                        continue;
-                    }
-                } catch (Exception e) {
-                    TimeUnit.MILLISECONDS.sleep(250);
-                    i--;
-                    continue;
-                }
-                DiscordLogger.sendLogInChannel("Total map count: "+resultMaps.size(), DiscordLogger.INFO);
+    /**
+     * Re-crawls the whole ranked set, which also re-verifies star ratings, and returns the maps that were not known before.
+     * Returns null if the crawl failed.
+     */
+    public synchronized List<BeatSaverRankedMap> refreshAllRankedMaps() {
+        DiscordLogger.sendLogInChannel("Fetching ranked maps...", DiscordLogger.INFO);
+        List<BeatSaverRankedMap> resultMaps = new RankedMapsCrawler(backgroundHttp).crawl();
+        if (resultMaps == null) {
+            DiscordLogger.sendLogInChannel("Ranked maps could not be refreshed, keeping " + rankedMaps.size() + " cached maps.", DiscordLogger.HTTP_ERRORS);
+            return null;
+        }
+        boolean hadRankedMaps = rankedMaps.getRankedMaps() != null;
+        List<BeatSaverRankedMap> newMaps = new ArrayList<>();
+        int changedStarRatings = 0;
+        for (BeatSaverRankedMap map : resultMaps) {
+            VersionsItem latestVersion = map.getLatestVersion();
+            RankedMapEntry knownEntry = latestVersion == null ? null : rankedMaps.findByHash(latestVersion.getHash());
+            if (knownEntry == null) {
+                newMaps.add(map);
+            } else if (!Objects.equals(knownEntry.getMap().getStars(), map.getStars())) {
+                changedStarRatings++;
+            }
+        }
+        rankedMaps.setRankedMaps(resultMaps);
+        writeRankedMapsSnapshot(resultMaps);
+        if (hadRankedMaps) {
+            DiscordLogger.sendLogInChannel("Ranked maps re-verified: " + newMaps.size() + " new, " + changedStarRatings + " with changed star ratings.", DiscordLogger.INFO);
+            return newMaps;
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Fetches the latest ranked pages until a known map is reached and merges the new maps into the cached ones.
+     * Returns the newly ranked maps or null if a page could not be fetched.
+     */
+    public synchronized List<BeatSaverRankedMap> syncLatestRankedMaps() {
+        List<BeatSaverRankedMap> knownMaps = rankedMaps.getRankedMaps();
+        if (knownMaps == null) {
+            return refreshAllRankedMaps();
+        }
+        RankedMapsCrawler crawler = new RankedMapsCrawler(backgroundHttp);
+        List<BeatSaverRankedMap> newMaps = new ArrayList<>();
+        boolean reachedKnownMap = false;
+        for (int page = 0; page < MAX_INCREMENTAL_SYNC_PAGES && !reachedKnownMap; page++) {
+            List<BeatSaverRankedMap> pageMaps = crawler.fetchPage(page);
+            if (pageMaps == null) {
+                return null;
+            }
+            if (pageMaps.isEmpty()) {
                 break;
             }
-            rankedMaps.setRankedMaps(resultMaps);
-            return rankedMaps;
-        } catch (Exception e) {
-            DiscordLogger.sendLogInChannel(e.getMessage(), DiscordLogger.HTTP_ERRORS);
-            return null;
+            for (BeatSaverRankedMap map : pageMaps) {
+                VersionsItem latestVersion = map.getLatestVersion();
+                if (latestVersion != null && rankedMaps.findByHash(latestVersion.getHash()) != null) {
+                    reachedKnownMap = true;
+                    break;
+                }
+                newMaps.add(map);
+            }
+        }
+        if (!reachedKnownMap) {
+            // Too many changes for an incremental sync
+            return refreshAllRankedMaps();
+        }
+        if (!newMaps.isEmpty()) {
+            Set<String> newMapIds = newMaps.stream().map(BeatSaverRankedMap::getId).collect(Collectors.toSet());
+            List<BeatSaverRankedMap> mergedMaps = new ArrayList<>(newMaps);
+            knownMaps.stream().filter(map -> !newMapIds.contains(map.getId())).forEach(mergedMaps::add);
+            rankedMaps.setRankedMaps(mergedMaps);
+            writeRankedMapsSnapshot(mergedMaps);
+        }
+        return newMaps;
+    }
+
+    public synchronized RankedMaps fetchRankedMapsIfNonExistent() {
+        if (rankedMaps.getRankedMaps() == null) {
+            refreshAllRankedMaps();
+        }
+        return rankedMaps;
+    }
+
+    public synchronized boolean loadRankedMapsSnapshot() {
+        long start = System.nanoTime();
+        List<BeatSaverRankedMap> snapshotMaps = rankedMapsSnapshot.load();
+        if (snapshotMaps == null) {
+            return false;
         }
+        rankedMaps.setRankedMaps(snapshotMaps);
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        DiscordLogger.sendLogInChannel("Loaded " + snapshotMaps.size() + " ranked maps from snapshot in " + durationMs + "ms", DiscordLogger.INFO);
+        return true;
     }
 
-    private String getRankedMapsUrlByPage(int pageNr) {
-        return ApiConstants.BS_RANKED_MAPS_PRE_URL + pageNr + ApiConstants.BS_RANKED_MAPS_POST_URL;
+    private void writeRankedMapsSnapshot(List<BeatSaverRankedMap> maps) {
+        try {
+            rankedMapsSnapshot.write(maps);
+        } catch (IOException e) {
+            DiscordLogger.sendLogInChannel("Could not write ranked maps snapshot: " + e.getMessage(), DiscordLogger.ERRORS);
+        }
     }
 
     public RankedMaps getCachedRankedMaps() {
         return rankedMaps;
     }
+
+    /**
+     * Loads one song per request, or up to {@link #MAX_MAPS_PER_REQUEST} songs per request when the cache loads a
+     * batch. Ids BeatSaver does not know are left out of the batch result and are not cached.
+     */
+    private static class SongLoader extends CacheLoader<String, Song> {
+
+        private final HttpMethods http = new HttpMethods();
+        private final String singleUrl;
+        private final String multiUrl;
+
+        SongLoader(String singleUrl, String multiUrl) {
+            this.singleUrl = singleUrl;
+            this.multiUrl = multiUrl;
+        }
+
+        @Override
+        public Song load(String id) {
+            return http.fetch(singleUrl + id, Song.class);
+        }
+
+        @Override
+        public Map<String, Song> loadAll(Iterable<? extends String> ids) {
+            List<String> idList = new ArrayList<>();
+            ids.forEach(idList::add);
+            Map<String, Song> songs = new HashMap<>();
+            for (int from = 0; from < idList.size(); from += MAX_MAPS_PER_REQUEST) {
+                List<String> chunk = idList.subList(from, Math.min(from + MAX_MAPS_PER_REQUEST, idList.size()));
+                // BeatSaver answers a single id with the map itself instead of an object keyed by id
+                if (chunk.size() == 1) {
+                    Song song = load(chunk.get(0));
+                    if (song != null) {
+                        songs.put(chunk.get(0), song);
+                    }
+                    continue;
+                }
+                Map<String, Song> response = http.fetch(multiUrl + String.join(",", chunk), SONGS_BY_ID_TYPE);
+                if (response != null) {
+                    response.forEach((id, song) -> {
+                        if (song != null) {
+                            songs.put(id.toLowerCase(), song);
+                        }
+                    });
+                }
+            }
+            return songs;
+        }
+    }
 }
@@ -1,26 +1,21 @@
 package bot.api;
 
+import bot.dto.beatsavior.BeatSaviorPlayerScore;
 import bot.dto.beatsavior.BeatSaviorPlayerScores;
-import bot.utils.DiscordLogger;
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
+
+import java.util.List;
 
 public class BeatSavior {
     final HttpMethods http;
-    final Gson gson;
 
     public BeatSavior() {
         http = new HttpMethods();
-        gson = new Gson();
     }
 
     public BeatSaviorPlayerScores fetchPlayerMaps(Long playerId) {
-        try {
-            JsonArray playerMaps = http.fetchJsonArray(ApiConstants.bsavior_LIVESCORES_URL + playerId);
-            return gson.fromJson("{\"playerMaps\": " + playerMaps + "}", BeatSaviorPlayerScores.class);
-        } catch (Exception e) {
-            DiscordLogger.sendLogInChannel(e.getMessage(), DiscordLogger.HTTP_ERRORS);
-            return null;
-        }
+        List<BeatSaviorPlayerScore> playerMaps = http.fetchList(ApiConstants.bsavior_LIVESCORES_URL + playerId, BeatSaviorPlayerScore.class, null);
+        BeatSaviorPlayerScores scores = new BeatSaviorPlayerScores();
+        scores.setPlayerMaps(playerMaps);
+        return scores;
     }
 }
@@ -0,0 +1,107 @@
+package bot.api;
+
+import bot.utils.DiscordLogger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opens after a number of consecutive upstream failures and then rejects requests right away. Once the open duration
+ * passed, a single probe request is let through: its success closes the breaker, its failure opens it again. A probe
+ * that ends with neither, e.g. because its thread was interrupted, has to be given up with {@link #onAbandoned()}.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+    private Thread probeOwner;
+
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public CircuitBreaker(String name, int failureThreshold, long openDurationMs) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMs);
+    }
+
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openDurationNanos) {
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !probeInFlight) {
+            probeInFlight = true;
+            probeOwner = Thread.currentThread();
+            return true;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    public void onSuccess() {
+        boolean recovered;
+        synchronized (this) {
+            recovered = state != State.CLOSED;
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            probeInFlight = false;
+            probeOwner = null;
+        }
+        if (recovered) {
+            DiscordLogger.sendLogInChannel("Circuit breaker for " + name + " closed, upstream recovered.", DiscordLogger.HTTP_ERRORS);
+        }
+    }
+
+    public void onFailure() {
+        boolean justOpened = false;
+        synchronized (this) {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+                justOpened = state == State.CLOSED;
+                state = State.OPEN;
+                openedAtNanos = System.nanoTime();
+                probeInFlight = false;
+                probeOwner = null;
+                opened.incrementAndGet();
+            }
+        }
+        if (justOpened) {
+            DiscordLogger.sendLogInChannel("Circuit breaker for " + name + " opened after " + failureThreshold + " failures, failing fast for " + TimeUnit.NANOSECONDS.toSeconds(openDurationNanos) + "s.", DiscordLogger.HTTP_ERRORS);
+        }
+    }
+
+    /**
+     * Gives up the probe the current thread was let through with, if it is still unresolved. The breaker opens again
+     * for another open duration instead of rejecting every request until a probe that will never report back.
+     */
+    public synchronized void onAbandoned() {
+        if (state == State.HALF_OPEN && probeInFlight && probeOwner == Thread.currentThread()) {
+            state = State.OPEN;
+            openedAtNanos = System.nanoTime();
+            probeInFlight = false;
+            probeOwner = null;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized String getStatsSummary() {
+        return state + ", " + consecutiveFailures + " failures in a row, opened " + opened.get() + "x, " + rejected.get() + " rejected";
+    }
+}
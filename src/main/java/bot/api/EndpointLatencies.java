@@ -0,0 +1,86 @@
+package bot.api;
+
+import java.net.URI;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Rolling response times per endpoint family, e.g. {@code scoresaber.com/api/player/{}/full}. Timeouts and hedge
+ * delays are derived from them once a family has enough samples, before that the callers' defaults apply.
+ */
+public class EndpointLatencies {
+
+    private static final EndpointLatencies instance = new EndpointLatencies();
+
+    private static final int SAMPLES_PER_FAMILY = 256;
+    private static final int MIN_SAMPLES = 20;
+    private static final int MIN_TIMEOUT_MS = 2000;
+    private static final int TIMEOUT_P99_FACTOR = 4;
+    private static final int MAX_FAMILIES_IN_SUMMARY = 10;
+    private static final Pattern VARIABLE_SEGMENT = Pattern.compile(".*\\d.*|.{21,}");
+
+    private final Map<String, LatencyRecorder> families = new ConcurrentHashMap<>();
+
+    public static EndpointLatencies getInstance() {
+        return instance;
+    }
+
+    /**
+     * Host and path of the URL with ids, hashes and page numbers replaced by {}, without the query.
+     */
+    public static String getFamily(String url) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            return "invalid";
+        }
+        StringBuilder family = new StringBuilder(String.valueOf(uri.getHost()));
+        String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                family.append('/').append(VARIABLE_SEGMENT.matcher(segment).matches() ? "{}" : segment);
+            }
+        }
+        return family.toString();
+    }
+
+    public void record(String url, long nanos) {
+        families.computeIfAbsent(getFamily(url), family -> new LatencyRecorder(SAMPLES_PER_FAMILY)).record(nanos);
+    }
+
+    /**
+     * @return four times the p99 of the family, at least 2 seconds and at most the default
+     */
+    public int getTimeoutMillis(String url, int defaultMillis) {
+        LatencyRecorder latencies = families.get(getFamily(url));
+        if (latencies == null || latencies.size() < MIN_SAMPLES) {
+            return defaultMillis;
+        }
+        long p99Ms = TimeUnit.NANOSECONDS.toMillis(latencies.percentile(99));
+        return (int) Math.max(Math.min(MIN_TIMEOUT_MS, defaultMillis), Math.min(defaultMillis, p99Ms * TIMEOUT_P99_FACTOR));
+    }
+
+    /**
+     * @return the p95 of the family, or -1 if there are not enough samples to hedge yet
+     */
+    public long getHedgeDelayNanos(String url) {
+        LatencyRecorder latencies = families.get(getFamily(url));
+        if (latencies == null || latencies.size() < MIN_SAMPLES) {
+            return -1;
+        }
+        return latencies.percentile(95);
+    }
+
+    public String getStatsSummary() {
+        return families.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<String, LatencyRecorder> entry) -> entry.getValue().size()).reversed())
+                .limit(MAX_FAMILIES_IN_SUMMARY)
+                .map(entry -> "\n   " + entry.getKey() + ": " + entry.getValue().getPercentilesSummary())
+                .collect(Collectors.joining());
+    }
+}
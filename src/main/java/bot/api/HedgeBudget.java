@@ -0,0 +1,45 @@
+package bot.api;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps hedged requests at a percentage of all requests. Every request adds a fraction of a token, a hedge spends a
+ * whole one, and the saved up tokens are capped so a quiet hour cannot fund a burst of duplicates.
+ */
+public class HedgeBudget {
+
+    private static final double MAX_TOKENS = 10;
+
+    private final double tokensPerRequest;
+    private double tokens;
+
+    private final AtomicLong hedged = new AtomicLong();
+    private final AtomicLong won = new AtomicLong();
+    private final AtomicLong denied = new AtomicLong();
+
+    public HedgeBudget(double percentOfRequests) {
+        this.tokensPerRequest = percentOfRequests / 100;
+    }
+
+    public synchronized void onRequest() {
+        tokens = Math.min(MAX_TOKENS, tokens + tokensPerRequest);
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (tokens >= 1) {
+            tokens -= 1;
+            hedged.incrementAndGet();
+            return true;
+        }
+        denied.incrementAndGet();
+        return false;
+    }
+
+    public void onHedgeWon() {
+        won.incrementAndGet();
+    }
+
+    public String getStatsSummary() {
+        return hedged.get() + " hedged, " + won.get() + " won by the hedge, " + denied.get() + " over budget";
+    }
+}
@@ -1,9 +1,16 @@
 package bot.api;
 
 import bot.utils.DiscordLogger;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.apache.commons.httpclient.Header;
 import org.apache.commons.httpclient.HttpClient;
 import org.apache.commons.httpclient.HttpMethod;
 import org.apache.commons.httpclient.cookie.CookiePolicy;
@@ -11,85 +18,405 @@ import org.apache.commons.httpclient.methods.GetMethod;
 import org.apache.commons.httpclient.methods.PostMethod;
 import org.apache.commons.httpclient.methods.StringRequestEntity;
 import org.apache.commons.httpclient.params.HttpClientParams;
+import org.apache.commons.httpclient.util.IdleConnectionTimeoutThread;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 
-import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class HttpMethods {
 
+    private static final int MAX_TOTAL_CONNECTIONS = 40;
+    private static final int MAX_CONNECTIONS_PER_HOST = 10;
+    private static final long IDLE_CONNECTION_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(60);
+    private static final long IDLE_CHECK_INTERVAL_MS = TimeUnit.SECONDS.toMillis(15);
+    private static final int DEFAULT_SO_TIMEOUT_MS = 20000;
+
+    private static final PooledConnectionManager connectionManager = new PooledConnectionManager(MAX_TOTAL_CONNECTIONS, MAX_CONNECTIONS_PER_HOST);
+    private static final HttpClient sharedClient = createSharedClient();
+
+    private static final Gson gson = new Gson();
+    private static final HttpResponseCache responseCache = HttpResponseCache.getInstance();
+
+    // Hedging is opt-in (env http_hedging=true) and limited to http_hedge_budget_percent of all requests (default 5)
+    private static final boolean hedgingEnabled = Boolean.parseBoolean(System.getenv("http_hedging"));
+    private static final HedgeBudget hedgeBudget = new HedgeBudget(NumberUtils.toDouble(System.getenv("http_hedge_budget_percent"), 5));
+    private static final ExecutorService hedgeExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+            .setNameFormat("http-hedge-%d")
+            .setDaemon(true)
+            .build());
+
     final HttpClient http;
+    private final RequestPriority priority;
 
     public HttpMethods() {
-        http = new HttpClient();
-        http.getParams().setSoTimeout(20000);
-        http.getParams().setConnectionManagerTimeout(5000);
-        http.getParams().setParameter(HttpClientParams.COOKIE_POLICY, CookiePolicy.BROWSER_COMPATIBILITY);
+        this(RequestPriority.INTERACTIVE);
+    }
+
+    public HttpMethods(RequestPriority priority) {
+        http = sharedClient;
+        this.priority = priority;
+    }
+
+    private static HttpClient createSharedClient() {
+        HttpClient client = new HttpClient(connectionManager);
+        client.getParams().setSoTimeout(DEFAULT_SO_TIMEOUT_MS);
+        client.getParams().setConnectionManagerTimeout(5000);
+        client.getParams().setParameter(HttpClientParams.COOKIE_POLICY, CookiePolicy.BROWSER_COMPATIBILITY);
+
+        IdleConnectionTimeoutThread idleConnectionEvictor = new IdleConnectionTimeoutThread();
+        idleConnectionEvictor.setName("http-idle-connection-evictor");
+        idleConnectionEvictor.setDaemon(true);
+        idleConnectionEvictor.addConnectionManager(connectionManager);
+        idleConnectionEvictor.setConnectionTimeout(IDLE_CONNECTION_TIMEOUT_MS);
+        idleConnectionEvictor.setTimeoutInterval(IDLE_CHECK_INTERVAL_MS);
+        idleConnectionEvictor.start();
+        return client;
+    }
+
+    public static PooledConnectionManager getConnectionManager() {
+        return connectionManager;
     }
 
     public static BufferedImage getBufferedImagefromUrl(String urlString) throws IOException, TimeoutException, ExecutionException, InterruptedException {
-        BufferedImage image;
-        final URL url = new URL(urlString);
-        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestProperty("User-Agent", "Mozilla/5.0 (Windows NT 6.1; WOW64) AppleWebKit/537.11 (KHTML, like Gecko) Chrome/23.0.1271.95 Safari/537.11");
-        connection.setRequestProperty("Accept-Language", "de-DE,de;q=0.9,en-US;q=0.8,en;q=0.7");
+        return ImageFetchService.getInstance().get(urlString);
+    }
+
+    /**
+     * Serves the response from the {@link HttpResponseCache} while it is fresh and revalidates it otherwise.
+     */
+    public InputStream get(String url) throws IOException {
+        HttpResponseCache.Entry stored = responseCache.lookup(url);
+        if (stored != null && stored.isFresh()) {
+            try {
+                InputStream body = stored.openBody();
+                responseCache.record(url, HttpResponseCache.Outcome.FRESH);
+                return body;
+            } catch (IOException e) {
+                // Evicted or unreadable since the lookup, fetch it again
+                responseCache.remove(url);
+                stored = null;
+            }
+        }
+        HttpResponseCache.Entry cached = stored;
+        return execute(url, () -> newGet(url, cached), true, cached);
+    }
 
-        ExecutorService executor = Executors.newCachedThreadPool();
-        Callable<Object> task = () -> ImageIO.read(connection.getInputStream());
+    private GetMethod newGet(String url, HttpResponseCache.Entry cached) {
+        GetMethod get = new GetMethod(url);
+        setAgent(get);
+        if (cached != null) {
+            cached.addValidators(get);
+        }
+        return get;
+    }
 
-        Future<Object> future = executor.submit(task);
+    public InputStream post(String url, String body) throws IOException {
+        return execute(url, () -> {
+            PostMethod post = new PostMethod(url);
+            post.setRequestEntity(new StringRequestEntity(body, "application/json", "UTF-8"));
+            return post;
+        }, false, null);
+    }
+
+    /**
+     * Sends the request under the policy of its upstream: idempotent requests are retried with jittered backoff on
+     * connection errors and retryable statuses, and nothing is sent while the upstream's circuit breaker is open.
+     *
+     * @param cached the stored response the request revalidates, if any
+     * @return the body of a 200 response or of the cached response on a 304, or null if there is none; if the cached
+     * body is gone by the time the 304 arrives, the request is sent once more without validators
+     */
+    private InputStream execute(String url, MethodFactory methodFactory, boolean idempotent, HttpResponseCache.Entry cached) throws IOException {
+        Upstream upstream = Upstream.forUrl(url);
+        ResiliencePolicy policy = upstream.getPolicy();
+        CircuitBreaker circuitBreaker = upstream.getCircuitBreaker();
+        int maxAttempts = idempotent ? policy.getMaxAttempts() : 1;
         try {
-            image = (BufferedImage) future.get(8, TimeUnit.SECONDS);
-        } catch (TimeoutException | InterruptedException | ExecutionException ex) {
-            DiscordLogger.sendLogInChannel(ex.getMessage(), DiscordLogger.HTTP_ERRORS);
-            throw ex;
+            for (int attempt = 1; ; attempt++) {
+                if (!circuitBreaker.allowRequest()) {
+                    // Failing fast, opening the breaker was logged already
+                    return null;
+                }
+                HttpMethod method;
+                int statusCode;
+                try {
+                    Attempt sent = send(url, methodFactory, upstream, idempotent);
+                    method = sent.method;
+                    statusCode = sent.statusCode;
+                } catch (IOException e) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw e;
+                    }
+                    circuitBreaker.onFailure();
+                    if (attempt >= maxAttempts) {
+                        throw e;
+                    }
+                    backOff(policy, attempt, url);
+                    continue;
+                }
+
+                if (statusCode == 200) {
+                    circuitBreaker.onSuccess();
+                    try {
+                        if (method instanceof GetMethod) {
+                            return storeResponse(url, method, cached);
+                        }
+                        return method.getResponseBodyAsStream();
+                    } catch (IOException e) {
+                        method.releaseConnection();
+                        DiscordLogger.sendLogInChannel(e.getMessage(), DiscordLogger.HTTP_ERRORS);
+                        return null;
+                    }
+                }
+                if (statusCode == 304 && cached != null) {
+                    circuitBreaker.onSuccess();
+                    try {
+                        InputStream body = responseCache.revalidated(url, cached, method).openBody();
+                        responseCache.record(url, HttpResponseCache.Outcome.NOT_MODIFIED);
+                        return body;
+                    } catch (IOException e) {
+                        // Evicted or replaced since the lookup, ask for the whole body once more
+                        responseCache.remove(url);
+                    } finally {
+                        method.releaseConnection();
+                    }
+                    return execute(url, () -> newGet(url, null), true, null);
+                }
+                method.releaseConnection();
+                if (ResiliencePolicy.isUpstreamFailure(statusCode)) {
+                    circuitBreaker.onFailure();
+                } else {
+                    circuitBreaker.onSuccess();
+                }
+                if (ResiliencePolicy.isRetryableStatus(statusCode) && attempt < maxAttempts) {
+                    backOff(policy, attempt, url);
+                    continue;
+                }
+                DiscordLogger.sendLogInChannel("Data could not be fetched. (" + url + ")\nStatuscode: " + statusCode, DiscordLogger.HTTP_ERRORS);
+                return null;
+            }
         } finally {
-            future.cancel(true);
+            // Interrupts and runtime exceptions leave the loop without a verdict, a probe must not stay in flight
+            circuitBreaker.onAbandoned();
         }
-        return image;
     }
 
-    public InputStream get(String url) throws IOException {
-        GetMethod get = new GetMethod(url);
-        setAgent(get);
-        int statusCode = http.executeMethod(get);
-        if (statusCode != 200) {
-            DiscordLogger.sendLogInChannel("Data could not be fetched. (" + url + ")\nStatuscode: " + statusCode, DiscordLogger.HTTP_ERRORS);
-            return null;
+    /**
+     * Buffers and stores the body if the response can be reused or revalidated later, otherwise streams it.
+     */
+    private static InputStream storeResponse(String url, HttpMethod method, HttpResponseCache.Entry cached) throws IOException {
+        responseCache.record(url, cached != null && cached.hasValidators() ? HttpResponseCache.Outcome.CHANGED : HttpResponseCache.Outcome.MISS);
+        if (!HttpResponseCache.isStorable(method)) {
+            if (cached != null) {
+                responseCache.remove(url);
+            }
+            return method.getResponseBodyAsStream();
+        }
+        byte[] body;
+        try (InputStream in = method.getResponseBodyAsStream()) {
+            body = in == null ? new byte[0] : IOUtils.toByteArray(in);
+        } finally {
+            method.releaseConnection();
         }
+        responseCache.store(url, method, body);
+        return new ByteArrayInputStream(body);
+    }
 
-        InputStream response = null;
+    private Attempt send(String url, MethodFactory methodFactory, Upstream upstream, boolean idempotent) throws IOException {
+        hedgeBudget.onRequest();
+        long hedgeDelayNanos = idempotent && hedgingEnabled ? EndpointLatencies.getInstance().getHedgeDelayNanos(url) : -1;
+        if (hedgeDelayNanos < 0) {
+            HttpMethod method = methodFactory.create();
+            try {
+                return new Attempt(method, sendRateLimited(method, url, upstream));
+            } catch (IOException | RuntimeException e) {
+                method.releaseConnection();
+                throw e;
+            }
+        }
+        return sendHedged(url, methodFactory, upstream, hedgeDelayNanos);
+    }
+
+    /**
+     * Sends the request and, if it has not been answered after the p95 of its endpoint family, a duplicate. The first
+     * answer wins, the other request is aborted and releases its own connection.
+     */
+    private Attempt sendHedged(String url, MethodFactory methodFactory, Upstream upstream, long hedgeDelayNanos) throws IOException {
+        CompletionService<Attempt> completion = new ExecutorCompletionService<>(hedgeExecutor);
+        AtomicBoolean decided = new AtomicBoolean();
+        List<HttpMethod> methods = new ArrayList<>();
+        Attempt winner = null;
+        IOException failure = null;
         try {
-            response = get.getResponseBodyAsStream();
-        } catch (IOException e) {
-            DiscordLogger.sendLogInChannel(e.getMessage(), DiscordLogger.HTTP_ERRORS);
+            methods.add(methodFactory.create());
+            completion.submit(attemptTask(methods.get(0), url, upstream, decided));
+            int pending = 1;
+            Future<Attempt> done = completion.poll(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+            if (done == null && hedgeBudget.tryAcquire()) {
+                methods.add(methodFactory.create());
+                completion.submit(attemptTask(methods.get(1), url, upstream, decided));
+                pending++;
+            }
+            while (winner == null && pending > 0) {
+                if (done == null) {
+                    done = completion.take();
+                }
+                pending--;
+                try {
+                    winner = done.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+                    }
+                }
+                done = null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = new InterruptedIOException("Interrupted while waiting for " + url);
+        } finally {
+            // Late answers release their connection themselves once the race is decided
+            decided.set(true);
+            for (HttpMethod method : methods) {
+                if (winner == null || method != winner.method) {
+                    method.abort();
+                }
+            }
         }
-        return response;
+        if (winner == null) {
+            throw failure;
+        }
+        if (methods.size() > 1 && winner.method == methods.get(1)) {
+            hedgeBudget.onHedgeWon();
+        }
+        return winner;
     }
 
-    public InputStream post(String url, String body) throws IOException {
-        PostMethod post = new PostMethod(url);
-        post.setRequestEntity(new StringRequestEntity(body, "application/json", "UTF-8"));
+    private Callable<Attempt> attemptTask(HttpMethod method, String url, Upstream upstream, AtomicBoolean decided) {
+        return () -> {
+            int statusCode;
+            try {
+                statusCode = sendRateLimited(method, url, upstream);
+            } catch (IOException | RuntimeException e) {
+                method.releaseConnection();
+                throw e;
+            }
+            if (decided.compareAndSet(false, true)) {
+                return new Attempt(method, statusCode);
+            }
+            method.releaseConnection();
+            throw new CancellationException("Another request for " + url + " answered first");
+        };
+    }
 
-        int statusCode = http.executeMethod(post);
-        if (statusCode != 200) {
-            DiscordLogger.sendLogInChannel("Data could not be fetched. (" + url + ")\nStatuscode: " + statusCode, DiscordLogger.HTTP_ERRORS);
+    private static void backOff(ResiliencePolicy policy, int attempt, String url) throws InterruptedIOException {
+        try {
+            TimeUnit.MILLISECONDS.sleep(policy.getBackoffMs(attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while retrying " + url);
+        }
+    }
+
+    public <T> T fetch(String url, Class<T> type) {
+        return fetch(url, (Type) type);
+    }
+
+    public <T> T fetch(String url, Type type) {
+        try {
+            InputStream fetchedStream = get(url);
+            if (fetchedStream == null) {
+                return null;
+            }
+            return read(fetchedStream, type);
+        } catch (IOException | JsonParseException e) {
+            DiscordLogger.sendLogInChannel(e.getMessage(), DiscordLogger.HTTP_ERRORS);
             return null;
         }
+    }
 
-        InputStream response = null;
+    /**
+     * Binds the array at the given dot separated object path (or the root array if the path is empty)
+     * element by element, skipping every other value of the payload.
+     */
+    public <T> List<T> fetchList(String url, Class<T> elementType, String jsonPath) {
         try {
-            response = post.getResponseBodyAsStream();
-        } catch (IOException e) {
+            InputStream fetchedStream = get(url);
+            if (fetchedStream == null) {
+                return null;
+            }
+            return readList(fetchedStream, elementType, jsonPath);
+        } catch (IOException | JsonParseException | IllegalStateException e) {
             DiscordLogger.sendLogInChannel(e.getMessage(), DiscordLogger.HTTP_ERRORS);
+            return null;
+        }
+    }
+
+    static <T> T read(InputStream stream, Type type) throws IOException {
+        try (JsonReader reader = openReader(stream)) {
+            return gson.fromJson(reader, type);
+        }
+    }
+
+    static <T> List<T> readList(InputStream stream, Class<T> elementType, String jsonPath) throws IOException {
+        try (JsonReader reader = openReader(stream)) {
+            if (!moveToPath(reader, jsonPath)) {
+                return null;
+            }
+            if (reader.peek() == JsonToken.NULL) {
+                return new ArrayList<>();
+            }
+            TypeAdapter<T> adapter = gson.getAdapter(elementType);
+            List<T> elements = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                elements.add(adapter.read(reader));
+            }
+            reader.endArray();
+            return elements;
         }
-        return response;
+    }
+
+    private static JsonReader openReader(InputStream stream) {
+        JsonReader reader = new JsonReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        reader.setLenient(true);
+        return reader;
+    }
+
+    private static boolean moveToPath(JsonReader reader, String jsonPath) throws IOException {
+        if (jsonPath == null || jsonPath.isEmpty()) {
+            return true;
+        }
+        for (String name : jsonPath.split("\\.")) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return false;
+            }
+            reader.beginObject();
+            boolean found = false;
+            while (reader.hasNext()) {
+                if (name.equals(reader.nextName())) {
+                    found = true;
+                    break;
+                }
+                reader.skipValue();
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public JsonObject fetchJsonObject(String url) {
@@ -98,7 +425,9 @@ public class HttpMethods {
             if (fetchedStream == null) {
                 return null;
             }
-            return JsonParser.parseString(IOUtils.toString(fetchedStream, StandardCharsets.UTF_8)).getAsJsonObject();
+            try (InputStream in = fetchedStream) {
+                return JsonParser.parseString(IOUtils.toString(in, StandardCharsets.UTF_8)).getAsJsonObject();
+            }
         } catch (IOException e) {
             DiscordLogger.sendLogInChannel(e.getMessage(), DiscordLogger.HTTP_ERRORS);
             return null;
@@ -111,7 +440,9 @@ public class HttpMethods {
             if (fetchedStream == null) {
                 return null;
             }
-            return JsonParser.parseString(IOUtils.toString(fetchedStream, StandardCharsets.UTF_8)).getAsJsonArray();
+            try (InputStream in = fetchedStream) {
+                return JsonParser.parseString(IOUtils.toString(in, StandardCharsets.UTF_8)).getAsJsonArray();
+            }
         } catch (IOException e) {
             DiscordLogger.sendLogInChannel(e.getMessage(), DiscordLogger.HTTP_ERRORS);
             return null;
@@ -124,13 +455,94 @@ public class HttpMethods {
             if (fetchedStream == null) {
                 return null;
             }
-            return JsonParser.parseString(IOUtils.toString(fetchedStream, StandardCharsets.UTF_8)).getAsJsonObject();
+            try (InputStream in = fetchedStream) {
+                return JsonParser.parseString(IOUtils.toString(in, StandardCharsets.UTF_8)).getAsJsonObject();
+            }
         } catch (IOException e) {
             DiscordLogger.sendLogInChannel(e.getMessage(), DiscordLogger.HTTP_ERRORS);
             return null;
         }
     }
 
+    private int sendRateLimited(HttpMethod method, String url, Upstream upstream) throws IOException {
+        TokenBucket rateLimiter = upstream.getRateLimiter();
+        if (rateLimiter == null) {
+            return executeTimed(method, url);
+        }
+        try {
+            rateLimiter.acquire(priority);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the rate limit of " + url);
+        }
+        int statusCode = executeTimed(method, url);
+        applyRateLimitHeaders(rateLimiter, method, statusCode);
+        return statusCode;
+    }
+
+    /**
+     * Executes with a socket timeout derived from the endpoint family's latencies and records how long it took.
+     */
+    private int executeTimed(HttpMethod method, String url) throws IOException {
+        EndpointLatencies latencies = EndpointLatencies.getInstance();
+        method.getParams().setSoTimeout(latencies.getTimeoutMillis(url, DEFAULT_SO_TIMEOUT_MS));
+        long start = System.nanoTime();
+        int statusCode = http.executeMethod(method);
+        if (statusCode < 500) {
+            latencies.record(url, System.nanoTime() - start);
+        }
+        return statusCode;
+    }
+
+    /**
+     * Feeds Retry-After and the x-ratelimit-remaining/-reset headers back into the bucket. The reset may be an epoch
+     * second (ScoreSaber) or a number of seconds.
+     */
+    private static void applyRateLimitHeaders(TokenBucket rateLimiter, HttpMethod method, int statusCode) {
+        Header retryAfter = method.getResponseHeader("Retry-After");
+        if (retryAfter != null) {
+            long seconds = NumberUtils.toLong(retryAfter.getValue().trim(), 1);
+            rateLimiter.pauseFor(TimeUnit.SECONDS.toMillis(Math.max(seconds, 1)));
+        } else if (statusCode == 429) {
+            rateLimiter.pauseFor(TimeUnit.SECONDS.toMillis(1));
+        }
+
+        Header remaining = getFirstHeader(method, "x-ratelimit-remaining", "RateLimit-Remaining");
+        Header reset = getFirstHeader(method, "x-ratelimit-reset", "RateLimit-Reset");
+        if (remaining != null && reset != null) {
+            long resetValue = NumberUtils.toLong(reset.getValue().trim(), -1);
+            int remainingValue = NumberUtils.toInt(remaining.getValue().trim(), -1);
+            if (resetValue >= 0 && remainingValue >= 0) {
+                long nowSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+                long secondsUntilReset = resetValue > nowSeconds / 2 ? resetValue - nowSeconds : resetValue;
+                rateLimiter.adaptToQuota(remainingValue, secondsUntilReset);
+            }
+        }
+    }
+
+    private static Header getFirstHeader(HttpMethod method, String... names) {
+        for (String name : names) {
+            Header header = method.getResponseHeader(name);
+            if (header != null) {
+                return header;
+            }
+        }
+        return null;
+    }
+
+    public static String getUpstreamStatsSummary() {
+        StringBuilder summary = new StringBuilder();
+        for (Upstream upstream : Upstream.values()) {
+            summary.append("\n   ").append(upstream.getDisplayName()).append(": breaker ").append(upstream.getCircuitBreaker().getStatsSummary());
+            if (upstream.getRateLimiter() != null) {
+                summary.append("\n      rate limit ").append(upstream.getRateLimiter().getStatsSummary());
+            }
+        }
+        summary.append("\n   Hedging: ").append(hedgingEnabled ? hedgeBudget.getStatsSummary() : "disabled");
+        summary.append("\nEndpoint latencies:".toUpperCase()).append(EndpointLatencies.getInstance().getStatsSummary());
+        return summary.toString();
+    }
+
     private void setAgent(HttpMethod method) {
         method.setRequestHeader("User-Agent", "Mozilla/5.0 (Windows NT 6.1; WOW64) AppleWebKit/537.11 (KHTML, like Gecko) Chrome/23.0.1271.95 Safari/537.11");
         method.setRequestHeader("Accept-Language", "de-DE,de;q=0.9,en-US;q=0.8,en;q=0.7");
@@ -138,4 +550,18 @@ public class HttpMethods {
         method.setRequestHeader("Server", "BeatSaber Intelligence Agency Discord Bot by AntiLink#1337");
         method.setRequestHeader("Accept", "*/*");
     }
-}
\ No newline at end of file
+
+    private interface MethodFactory {
+        HttpMethod create() throws IOException;
+    }
+
+    private static class Attempt {
+        private final HttpMethod method;
+        private final int statusCode;
+
+        private Attempt(HttpMethod method, int statusCode) {
+            this.method = method;
+            this.statusCode = statusCode;
+        }
+    }
+}
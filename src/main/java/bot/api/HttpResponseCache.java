@@ -0,0 +1,356 @@
+package bot.api;
+
+import bot.main.BotConstants;
+import bot.utils.DiskLruIndex;
+import com.google.common.hash.Hashing;
+import org.apache.commons.httpclient.Header;
+import org.apache.commons.httpclient.HttpMethod;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GET responses that carry an ETag, a Last-Modified date or a Cache-Control max-age, stored under resources/http-cache
+ * and bounded by env http_cache_mb (default 64). Entries within their max-age are served without a request, older ones
+ * are revalidated with If-None-Match/If-Modified-Since so an unchanged resource only costs a 304.
+ * <p>
+ * Each file starts with a small uncompressed header holding the freshness and the validators, followed by the gzipped
+ * body. A lookup only reads the header, the body is decompressed when it is actually served.
+ */
+public class HttpResponseCache {
+
+    private static final HttpResponseCache instance = new HttpResponseCache(
+            Paths.get(BotConstants.RESOURCES_PATH + "http-cache"),
+            NumberUtils.toLong(System.getenv("http_cache_mb"), 64) * 1024 * 1024);
+
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BUFFER_SIZE = 1024;
+
+    private final DiskLruIndex index;
+    private final Map<String, HostStats> hosts = new ConcurrentHashMap<>();
+
+    public HttpResponseCache(Path directory, long maxBytes) {
+        this.index = new DiskLruIndex(directory, ".gz", maxBytes);
+    }
+
+    public static HttpResponseCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Reads only the header of the stored response, see {@link Entry#openBody()} for the body.
+     *
+     * @return the stored response of the URL, fresh or not, or null if there is none
+     */
+    public Entry lookup(String url) {
+        Path file = fileFor(url);
+        if (!index.touch(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), HEADER_BUFFER_SIZE))) {
+            Entry entry = readHeader(in, file);
+            if (entry == null || !url.equals(entry.url)) {
+                index.remove(file);
+                return null;
+            }
+            return entry;
+        } catch (IOException e) {
+            index.remove(file);
+            return null;
+        }
+    }
+
+    /**
+     * Whether a 200 response to a GET is worth storing: it must not be marked no-store and needs a validator or a
+     * max-age, anything else could neither be reused nor revalidated.
+     */
+    public static boolean isStorable(HttpMethod method) {
+        CacheControl cacheControl = CacheControl.of(method);
+        if (cacheControl.noStore) {
+            return false;
+        }
+        return cacheControl.maxAgeSeconds > 0
+                || method.getResponseHeader("ETag") != null
+                || method.getResponseHeader("Last-Modified") != null;
+    }
+
+    public void store(String url, HttpMethod response, byte[] body) {
+        CacheControl cacheControl = CacheControl.of(response);
+        Path file = fileFor(url);
+        write(new Entry(url, file, System.currentTimeMillis(), cacheControl.getFreshForMillis(response),
+                headerValue(response, "ETag"), headerValue(response, "Last-Modified")), out -> {
+            GZIPOutputStream gzip = new GZIPOutputStream(out);
+            gzip.write(body);
+            gzip.finish();
+        });
+    }
+
+    /**
+     * Updates the stored entry with the validators and max-age of a 304 response to its revalidation. The compressed
+     * body is copied over as it is.
+     *
+     * @return the updated entry
+     */
+    public Entry revalidated(String url, Entry cached, HttpMethod notModified) {
+        CacheControl cacheControl = CacheControl.of(notModified);
+        String etag = headerValue(notModified, "ETag");
+        String lastModified = headerValue(notModified, "Last-Modified");
+        Entry updated = new Entry(url, cached.file, System.currentTimeMillis(),
+                cacheControl.maxAgeSeconds >= 0 || cacheControl.noCache ? cacheControl.getFreshForMillis(notModified) : cached.freshForMillis,
+                etag != null ? etag : cached.etag,
+                lastModified != null ? lastModified : cached.lastModified);
+        write(updated, out -> {
+            try (InputStream in = openCompressedBody(cached.file)) {
+                IOUtils.copy(in, out);
+            }
+        });
+        return updated;
+    }
+
+    public void remove(String url) {
+        index.remove(fileFor(url));
+    }
+
+    public void record(String url, Outcome outcome) {
+        String host;
+        try {
+            host = String.valueOf(URI.create(url).getHost());
+        } catch (IllegalArgumentException e) {
+            host = "invalid";
+        }
+        hosts.computeIfAbsent(host, key -> new HostStats()).record(outcome);
+    }
+
+    public String getStatsSummary() {
+        StringBuilder summary = new StringBuilder(index.getStatsSummary());
+        hosts.forEach((host, stats) -> summary.append("\n   ").append(host).append(": ").append(stats.getSummary()));
+        return summary.toString();
+    }
+
+    private void write(Entry entry, BodyWriter body) {
+        try {
+            Files.createDirectories(index.getDirectory());
+            Path tempPath = Files.createTempFile(index.getDirectory(), "response", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+                ByteArrayOutputStream header = new ByteArrayOutputStream();
+                DataOutputStream headerOut = new DataOutputStream(header);
+                headerOut.writeUTF(entry.url);
+                headerOut.writeLong(entry.storedAt);
+                headerOut.writeLong(entry.freshForMillis);
+                writeOptional(headerOut, entry.etag);
+                writeOptional(headerOut, entry.lastModified);
+
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(header.size());
+                header.writeTo(out);
+                body.writeTo(out);
+            } catch (IOException e) {
+                Files.deleteIfExists(tempPath);
+                throw e;
+            }
+            Files.move(tempPath, entry.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            index.add(entry.file, Files.size(entry.file));
+        } catch (IOException e) {
+            System.out.println("Could not store response of " + entry.url + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the entry described by the header, or null if the file was written in another format
+     */
+    private static Entry readHeader(DataInputStream in, Path file) throws IOException {
+        if (in.readInt() != FORMAT_VERSION) {
+            return null;
+        }
+        byte[] header = new byte[in.readInt()];
+        in.readFully(header);
+        DataInputStream headerIn = new DataInputStream(new ByteArrayInputStream(header));
+        return new Entry(headerIn.readUTF(), file, headerIn.readLong(), headerIn.readLong(), readOptional(headerIn), readOptional(headerIn));
+    }
+
+    /**
+     * Opens the file positioned after its header, i.e. at the gzipped body.
+     */
+    private static InputStream openCompressedBody(Path file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        try {
+            if (in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Cached response " + file + " has an unknown format");
+            }
+            IOUtils.skipFully(in, in.readInt());
+            return in;
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private Path fileFor(String url) {
+        return index.getDirectory().resolve(Hashing.sha256().hashString(url, StandardCharsets.UTF_8) + ".gz");
+    }
+
+    private static String headerValue(HttpMethod method, String name) {
+        Header header = method.getResponseHeader(name);
+        return header == null ? null : header.getValue();
+    }
+
+    private static String readOptional(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeOptional(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    public enum Outcome {
+        /** Served within its max-age without a request */
+        FRESH,
+        /** Revalidated with a 304 */
+        NOT_MODIFIED,
+        /** Revalidated, but the resource changed */
+        CHANGED,
+        /** Nothing that could be revalidated was stored for the URL */
+        MISS
+    }
+
+    public static class Entry {
+        private final String url;
+        private final Path file;
+        private final long storedAt;
+        private final long freshForMillis;
+        private final String etag;
+        private final String lastModified;
+
+        private Entry(String url, Path file, long storedAt, long freshForMillis, String etag, String lastModified) {
+            this.url = url;
+            this.file = file;
+            this.storedAt = storedAt;
+            this.freshForMillis = freshForMillis;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        public boolean isFresh() {
+            return System.currentTimeMillis() - storedAt < freshForMillis;
+        }
+
+        public boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+
+        public void addValidators(HttpMethod request) {
+            if (etag != null) {
+                request.setRequestHeader("If-None-Match", etag);
+            }
+            if (lastModified != null) {
+                request.setRequestHeader("If-Modified-Since", lastModified);
+            }
+        }
+
+        /**
+         * Streams and decompresses the stored body. If the response was stored again in the meantime, that is the
+         * newer body of the same URL. The caller has to close the stream.
+         */
+        public InputStream openBody() throws IOException {
+            return new GZIPInputStream(openCompressedBody(file));
+        }
+    }
+
+    private interface BodyWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private static class CacheControl {
+        private boolean noStore;
+        private boolean noCache;
+        private long maxAgeSeconds = -1;
+
+        private static CacheControl of(HttpMethod response) {
+            CacheControl cacheControl = new CacheControl();
+            for (Header header : response.getResponseHeaders("Cache-Control")) {
+                for (String directive : header.getValue().split(",")) {
+                    String name = directive.trim().toLowerCase();
+                    if (name.equals("no-store")) {
+                        cacheControl.noStore = true;
+                    } else if (name.equals("no-cache")) {
+                        cacheControl.noCache = true;
+                    } else if (name.startsWith("max-age=")) {
+                        cacheControl.maxAgeSeconds = NumberUtils.toLong(name.substring("max-age=".length()).replace("\"", ""), -1);
+                    }
+                }
+            }
+            return cacheControl;
+        }
+
+        /**
+         * The max-age minus the Age the response already spent in intermediate caches, or 0 if it must be revalidated.
+         */
+        private long getFreshForMillis(HttpMethod response) {
+            if (noCache || maxAgeSeconds <= 0) {
+                return 0;
+            }
+            long ageSeconds = NumberUtils.toLong(headerValue(response, "Age"), 0);
+            return TimeUnit.SECONDS.toMillis(Math.max(0, maxAgeSeconds - ageSeconds));
+        }
+    }
+
+    private static class HostStats {
+        private final AtomicLong fresh = new AtomicLong();
+        private final AtomicLong notModified = new AtomicLong();
+        private final AtomicLong changed = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        private void record(Outcome outcome) {
+            switch (outcome) {
+                case FRESH:
+                    fresh.incrementAndGet();
+                    break;
+                case NOT_MODIFIED:
+                    notModified.incrementAndGet();
+                    break;
+                case CHANGED:
+                    changed.incrementAndGet();
+                    break;
+                default:
+                    misses.incrementAndGet();
+            }
+        }
+
+        private String getSummary() {
+            long servedFresh = fresh.get();
+            long served304 = notModified.get();
+            long revalidations = served304 + changed.get();
+            long requests = servedFresh + revalidations + misses.get();
+            return requests + " GETs, " + percent(servedFresh + served304, requests) + "% served from cache ("
+                    + servedFresh + " fresh), 304 on " + percent(served304, revalidations) + "% of " + revalidations + " revalidations";
+        }
+
+        private static long percent(long part, long total) {
+            return total == 0 ? 0 : part * 100 / total;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package bot.api;
+
+import bot.utils.DiscordLogger;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Downloads and decodes images on a fixed worker pool. Concurrent requests for the same URL share one download, and
+ * decoded images are kept in an LRU bounded by their pixel bytes (env image_cache_mb, default 128). Returned images
+ * are shared between callers and must not be modified.
+ */
+public class ImageFetchService {
+
+    private static final int DEFAULT_DEADLINE_MS = 8000;
+    private static final int CONNECT_TIMEOUT_MS = 4000;
+    private static final ImageFetchService instance = new ImageFetchService();
+
+    private final ExecutorService workers = Executors.newFixedThreadPool(NumberUtils.toInt(System.getenv("image_fetch_workers"), 6), new ThreadFactoryBuilder()
+            .setNameFormat("image-fetch-%d")
+            .setDaemon(true)
+            .build());
+    private final ScheduledExecutorService deadlines = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("image-fetch-deadline")
+            .setDaemon(true)
+            .build());
+
+    private final Map<String, Download> inFlight = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, BufferedImage> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private final long maxCacheBytes = NumberUtils.toLong(System.getenv("image_cache_mb"), 128) * 1024 * 1024;
+    private long cacheBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong joined = new AtomicLong();
+    private final AtomicLong downloads = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    private ImageFetchService() {
+    }
+
+    public static ImageFetchService getInstance() {
+        return instance;
+    }
+
+    /**
+     * Blocks until the image is available or the deadline of its endpoint family passed.
+     *
+     * @return the decoded image, or null if the response is no image format ImageIO can read
+     */
+    public BufferedImage get(String url) throws IOException, TimeoutException, ExecutionException, InterruptedException {
+        try {
+            return fetch(url).get(getDeadlineMillis(url), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof TimeoutException) {
+                throw (TimeoutException) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The deadline follows the observed latencies of the image host, see {@link EndpointLatencies}.
+     */
+    public CompletableFuture<BufferedImage> fetch(String url) {
+        return fetch(url, getDeadlineMillis(url), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * A caller joining a download that is already in flight still gets its own deadline. The download is aborted
+     * once every caller waiting for it ran into its deadline.
+     */
+    public CompletableFuture<BufferedImage> fetch(String url, long deadline, TimeUnit unit) {
+        BufferedImage cached = getCached(url);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        while (true) {
+            Download started = new Download(url);
+            Download existing = inFlight.putIfAbsent(url, started);
+            if (existing == null) {
+                start(started);
+                return waitFor(started, deadline, unit);
+            }
+            if (existing.join()) {
+                joined.incrementAndGet();
+                return waitFor(existing, deadline, unit);
+            }
+            // Abandoned but not removed yet
+            inFlight.remove(url, existing);
+        }
+    }
+
+    public String getStatsSummary() {
+        synchronized (cache) {
+            return "Downloads: " + downloads.get()
+                    + "   Cache hits: " + hits.get()
+                    + "   Joined: " + joined.get()
+                    + "   Failed: " + failures.get()
+                    + "   Cached: " + cache.size() + " (" + cacheBytes / 1024 / 1024 + "/" + maxCacheBytes / 1024 / 1024 + "MB)";
+        }
+    }
+
+    private void start(Download download) {
+        downloads.incrementAndGet();
+        download.result.whenComplete((image, error) -> {
+            inFlight.remove(download.url, download);
+            if (error != null) {
+                failures.incrementAndGet();
+                DiscordLogger.sendLogInChannel("Image fetch failed: " + error.getMessage(), DiscordLogger.HTTP_ERRORS);
+            } else if (image != null) {
+                putCached(download.url, image);
+            }
+        });
+        download.task = workers.submit(() -> {
+            try {
+                download.result.complete(download(download));
+            } catch (Throwable t) {
+                download.result.completeExceptionally(download.isAbandoned() ? download.abandonedException() : t);
+            }
+        });
+    }
+
+    private CompletableFuture<BufferedImage> waitFor(Download download, long deadline, TimeUnit unit) {
+        CompletableFuture<BufferedImage> waiting = new CompletableFuture<>();
+        download.result.whenComplete((image, error) -> {
+            if (error != null) {
+                waiting.completeExceptionally(error);
+            } else {
+                waiting.complete(image);
+            }
+        });
+        ScheduledFuture<?> deadlineTask = deadlines.schedule(() -> {
+            if (waiting.completeExceptionally(new TimeoutException("Image could not be loaded within " + deadline + " " + unit + ": " + download.url))) {
+                download.leave();
+            }
+        }, deadline, unit);
+        waiting.whenComplete((image, error) -> deadlineTask.cancel(false));
+        return waiting;
+    }
+
+    private static int getDeadlineMillis(String url) {
+        return EndpointLatencies.getInstance().getTimeoutMillis(url, DEFAULT_DEADLINE_MS);
+    }
+
+    private static BufferedImage download(Download download) {
+        String urlString = download.url;
+        try {
+            long start = System.nanoTime();
+            HttpURLConnection connection = (HttpURLConnection) new URL(urlString).openConnection();
+            if (!download.attach(connection)) {
+                throw new IOException("Image download abandoned: " + urlString);
+            }
+            connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+            connection.setReadTimeout(getDeadlineMillis(urlString));
+            connection.setRequestProperty("User-Agent", "Mozilla/5.0 (Windows NT 6.1; WOW64) AppleWebKit/537.11 (KHTML, like Gecko) Chrome/23.0.1271.95 Safari/537.11");
+            connection.setRequestProperty("Accept-Language", "de-DE,de;q=0.9,en-US;q=0.8,en;q=0.7");
+            try (InputStream in = connection.getInputStream()) {
+                BufferedImage image = ImageIO.read(in);
+                EndpointLatencies.getInstance().record(urlString, System.nanoTime() - start);
+                return image;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private BufferedImage getCached(String url) {
+        synchronized (cache) {
+            return cache.get(url);
+        }
+    }
+
+    private void putCached(String url, BufferedImage image) {
+        long size = pixelBytes(image);
+        if (size > maxCacheBytes) {
+            return;
+        }
+        synchronized (cache) {
+            BufferedImage previous = cache.put(url, image);
+            if (previous != null) {
+                cacheBytes -= pixelBytes(previous);
+            }
+            cacheBytes += size;
+
+            Iterator<BufferedImage> eldest = cache.values().iterator();
+            while (cacheBytes > maxCacheBytes && eldest.hasNext()) {
+                cacheBytes -= pixelBytes(eldest.next());
+                eldest.remove();
+            }
+        }
+    }
+
+    private static long pixelBytes(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+    /**
+     * One download of a URL and the number of callers still waiting for it.
+     */
+    private static class Download {
+        private final String url;
+        private final CompletableFuture<BufferedImage> result = new CompletableFuture<>();
+        private volatile Future<?> task;
+        private HttpURLConnection connection;
+        private int waiters = 1;
+        private boolean abandoned;
+
+        Download(String url) {
+            this.url = url;
+        }
+
+        synchronized boolean join() {
+            if (abandoned) {
+                return false;
+            }
+            waiters++;
+            return true;
+        }
+
+        /**
+         * Called when a waiting caller ran into its deadline. Without anyone left waiting the queued task is
+         * cancelled or the running connection closed, so the worker does not keep reading for nobody.
+         */
+        void leave() {
+            HttpURLConnection running;
+            synchronized (this) {
+                if (--waiters > 0 || result.isDone()) {
+                    return;
+                }
+                abandoned = true;
+                running = connection;
+            }
+            Future<?> queued = task;
+            if (queued != null) {
+                queued.cancel(false);
+            }
+            if (running != null) {
+                running.disconnect();
+            }
+            result.completeExceptionally(abandonedException());
+        }
+
+        synchronized boolean attach(HttpURLConnection connection) {
+            this.connection = connection;
+            return !abandoned;
+        }
+
+        synchronized boolean isAbandoned() {
+            return abandoned;
+        }
+
+        TimeoutException abandonedException() {
+            return new TimeoutException("Image download abandoned, every caller ran into its deadline: " + url);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package bot.api;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the most recent durations in a ring buffer and answers percentiles over them.
+ */
+public class LatencyRecorder {
+
+    private final long[] samples;
+    private int next;
+    private int size;
+
+    public LatencyRecorder(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        size = Math.min(size + 1, samples.length);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the duration in nanoseconds, or -1 if nothing was recorded yet
+     */
+    public long percentile(double percentile) {
+        long[] sorted;
+        synchronized (this) {
+            if (size == 0) {
+                return -1;
+            }
+            sorted = Arrays.copyOf(samples, size);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    public String getPercentilesSummary() {
+        return "p50 " + toMillis(percentile(50)) + "ms, p95 " + toMillis(percentile(95)) + "ms, p99 " + toMillis(percentile(99)) + "ms";
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos < 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
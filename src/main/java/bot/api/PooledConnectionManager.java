@@ -0,0 +1,73 @@
+package bot.api;
+
+import org.apache.commons.httpclient.ConnectionPoolTimeoutException;
+import org.apache.commons.httpclient.HostConfiguration;
+import org.apache.commons.httpclient.HttpConnection;
+import org.apache.commons.httpclient.MultiThreadedHttpConnectionManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PooledConnectionManager extends MultiThreadedHttpConnectionManager {
+
+    private final AtomicInteger leased = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong leaseCount = new AtomicLong();
+    private final AtomicLong poolTimeouts = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public PooledConnectionManager(int maxTotalConnections, int maxConnectionsPerHost) {
+        getParams().setMaxTotalConnections(maxTotalConnections);
+        getParams().setDefaultMaxConnectionsPerHost(maxConnectionsPerHost);
+        getParams().setStaleCheckingEnabled(true);
+    }
+
+    @Override
+    public HttpConnection getConnectionWithTimeout(HostConfiguration hostConfiguration, long timeout) throws ConnectionPoolTimeoutException {
+        pending.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            HttpConnection connection = super.getConnectionWithTimeout(hostConfiguration, timeout);
+            leased.incrementAndGet();
+            leaseCount.incrementAndGet();
+            return connection;
+        } catch (ConnectionPoolTimeoutException e) {
+            poolTimeouts.incrementAndGet();
+            throw e;
+        } finally {
+            pending.decrementAndGet();
+            long waited = System.nanoTime() - start;
+            totalWaitNanos.addAndGet(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+        }
+    }
+
+    @Override
+    public void releaseConnection(HttpConnection conn) {
+        super.releaseConnection(conn);
+        leased.decrementAndGet();
+    }
+
+    public int getLeasedConnections() {
+        return leased.get();
+    }
+
+    public int getPendingRequests() {
+        return pending.get();
+    }
+
+    public String getStatsSummary() {
+        long leases = leaseCount.get();
+        long averageWaitMs = leases == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get() / leases);
+        return "Pooled: " + getConnectionsInPool()
+                + " / " + getParams().getMaxTotalConnections()
+                + "   Leased: " + leased.get()
+                + "   Pending: " + pending.get()
+                + "   Leases: " + leases
+                + "   Avg wait: " + averageWaitMs + "ms"
+                + "   Max wait: " + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()) + "ms"
+                + "   Pool timeouts: " + poolTimeouts.get();
+    }
+}
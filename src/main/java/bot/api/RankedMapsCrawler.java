@@ -0,0 +1,134 @@
+package bot.api;
+
+import bot.dto.rankedmaps.BeatSaverRankedMap;
+import bot.dto.rankedmaps.BeatSaverRankedMaps;
+import bot.utils.DiscordLogger;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RankedMapsCrawler {
+
+    private static final int MAX_PAGES = 10000;
+    private static final int DEFAULT_CONCURRENCY = 4;
+    private static final int PROGRESS_LOG_INTERVAL = 50;
+
+    private final HttpMethods http;
+    private final int concurrency;
+
+    public RankedMapsCrawler(HttpMethods http) {
+        this(http, NumberUtils.toInt(System.getenv("ranked_crawl_concurrency"), DEFAULT_CONCURRENCY));
+    }
+
+    public RankedMapsCrawler(HttpMethods http, int concurrency) {
+        this.http = http;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /**
+     * Fetches all ranked pages with a bounded number of parallel requests and returns the maps in page order,
+     * or null if a page could not be fetched within the retries of the BeatSaver {@link ResiliencePolicy}.
+     */
+    public List<BeatSaverRankedMap> crawl() {
+        long start = System.nanoTime();
+        Map<Integer, List<BeatSaverRankedMap>> pages = new ConcurrentHashMap<>();
+        AtomicInteger nextPage = new AtomicInteger();
+        AtomicInteger firstEmptyPage = new AtomicInteger(MAX_PAGES);
+        AtomicInteger firstFailedPage = new AtomicInteger(MAX_PAGES);
+        AtomicInteger fetchedPages = new AtomicInteger();
+        AtomicBoolean aborted = new AtomicBoolean();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, new ThreadFactoryBuilder()
+                .setNameFormat("ranked-crawler-%d")
+                .setDaemon(true)
+                .build());
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(executor.submit(() -> {
+                while (!aborted.get()) {
+                    int page = nextPage.getAndIncrement();
+                    if (page >= firstEmptyPage.get()) {
+                        return;
+                    }
+                    List<BeatSaverRankedMap> pageMaps = fetchPage(page);
+                    if (pageMaps == null) {
+                        firstFailedPage.accumulateAndGet(page, Math::min);
+                        aborted.set(true);
+                        return;
+                    }
+                    if (pageMaps.isEmpty()) {
+                        firstEmptyPage.accumulateAndGet(page, Math::min);
+                        return;
+                    }
+                    pages.put(page, pageMaps);
+                    int fetched = fetchedPages.incrementAndGet();
+                    if (fetched % PROGRESS_LOG_INTERVAL == 0) {
+                        DiscordLogger.sendLogInChannel("Fetched " + fetched + " ranked pages...", DiscordLogger.INFO);
+                    }
+                }
+            }));
+        }
+        try {
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            aborted.set(true);
+            return null;
+        } catch (ExecutionException e) {
+            DiscordLogger.sendLogInChannel("Ranked map crawl failed: " + e.getCause(), DiscordLogger.HTTP_ERRORS);
+            return null;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int pageCount = firstEmptyPage.get();
+        if (firstFailedPage.get() < pageCount) {
+            DiscordLogger.sendLogInChannel("Ranked map crawl aborted, page " + firstFailedPage.get() + " could not be fetched.", DiscordLogger.HTTP_ERRORS);
+            return null;
+        }
+        List<BeatSaverRankedMap> resultMaps = new ArrayList<>();
+        for (int page = 0; page < pageCount; page++) {
+            List<BeatSaverRankedMap> pageMaps = pages.get(page);
+            if (pageMaps == null) {
+                DiscordLogger.sendLogInChannel("Ranked map crawl aborted, page " + page + " is missing.", DiscordLogger.HTTP_ERRORS);
+                return null;
+            }
+            resultMaps.addAll(pageMaps);
+        }
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        DiscordLogger.sendLogInChannel("Total map count: " + resultMaps.size() + " (" + pageCount + " pages in " + durationMs + "ms)", DiscordLogger.INFO);
+        return resultMaps;
+    }
+
+    /**
+     * Retries and backoff happen per request in {@link HttpMethods}, a page that still fails is not retried again.
+     *
+     * @return the maps of the page, empty after the last page, or null if the page could not be fetched
+     */
+    public List<BeatSaverRankedMap> fetchPage(int page) {
+        try {
+            BeatSaverRankedMaps pageResult = http.fetch(getRankedMapsUrlByPage(page), BeatSaverRankedMaps.class);
+            return pageResult == null ? null : pageResult.getRankedMaps();
+        } catch (RuntimeException e) {
+            DiscordLogger.sendLogInChannel("Ranked page " + page + " failed: " + e.getMessage(), DiscordLogger.HTTP_ERRORS);
+            return null;
+        }
+    }
+
+    private static String getRankedMapsUrlByPage(int pageNr) {
+        return ApiConstants.BS_RANKED_MAPS_PRE_URL + pageNr + ApiConstants.BS_RANKED_MAPS_POST_URL;
+    }
+}
@@ -0,0 +1,177 @@
+package bot.api;
+
+import bot.dto.rankedmaps.BeatSaverRankedMap;
+import bot.dto.rankedmaps.DiffsItem;
+import bot.dto.rankedmaps.VersionsItem;
+import bot.main.BotConstants;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compact binary copy of the ranked maps, so a restart does not have to wait for a full crawl.
+ * Layout: magic, format version, save time, map count, maps, CRC32 of everything before it.
+ */
+public class RankedMapsSnapshot {
+
+    private static final int MAGIC = 0x42535253; // "BSRS"
+    private static final int FORMAT_VERSION = 1;
+    private static final long MAX_AGE_MS = TimeUnit.DAYS.toMillis(7);
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4;
+    private static final int CHECKSUM_SIZE = 8;
+
+    private final Path path;
+
+    public RankedMapsSnapshot() {
+        this(Paths.get(BotConstants.RESOURCES_PATH + "ranked_maps.snapshot"));
+    }
+
+    public RankedMapsSnapshot(Path path) {
+        this.path = path;
+    }
+
+    public void write(List<BeatSaverRankedMap> maps) throws IOException {
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (FileOutputStream fileOut = new FileOutputStream(tempPath.toFile());
+             CheckedOutputStream checkedOut = new CheckedOutputStream(new BufferedOutputStream(fileOut), crc);
+             DataOutputStream out = new DataOutputStream(checkedOut)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(maps.size());
+            for (BeatSaverRankedMap map : maps) {
+                writeString(out, map.getId());
+                writeString(out, map.getName());
+                List<VersionsItem> versions = map.getVersions() == null ? new ArrayList<>() : map.getVersions();
+                out.writeInt(versions.size());
+                for (VersionsItem version : versions) {
+                    writeString(out, version.getHash());
+                    writeString(out, version.getKey());
+                    writeString(out, version.getCreatedAt());
+                    writeString(out, version.getCoverURL());
+                    List<DiffsItem> diffs = version.getDiffs() == null ? new ArrayList<>() : version.getDiffs();
+                    out.writeInt(diffs.size());
+                    for (DiffsItem diff : diffs) {
+                        writeString(out, diff.getDifficulty());
+                        writeString(out, diff.getCharacteristic());
+                        out.writeDouble(diff.getStars());
+                        out.writeInt(diff.getNotes());
+                        out.writeDouble(diff.getSeconds());
+                    }
+                }
+            }
+            out.flush();
+            // Not part of the checksum itself
+            new DataOutputStream(fileOut).writeLong(crc.getValue());
+        }
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the stored maps, or null if the snapshot is missing, corrupt, from another format version or too old.
+     */
+    public List<BeatSaverRankedMap> load() {
+        File file = path.toFile();
+        if (!file.isFile() || file.length() < HEADER_SIZE + CHECKSUM_SIZE) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int contentSize = buffer.limit() - CHECKSUM_SIZE;
+
+            ByteBuffer content = buffer.duplicate();
+            content.limit(contentSize);
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            if (crc.getValue() != buffer.getLong(contentSize)) {
+                System.out.println("Ranked maps snapshot is corrupt.");
+                return null;
+            }
+
+            buffer.limit(contentSize);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                System.out.println("Ranked maps snapshot has an outdated format.");
+                return null;
+            }
+            long savedAt = buffer.getLong();
+            if (System.currentTimeMillis() - savedAt > MAX_AGE_MS) {
+                System.out.println("Ranked maps snapshot is outdated.");
+                return null;
+            }
+            int mapCount = buffer.getInt();
+            List<BeatSaverRankedMap> maps = new ArrayList<>(mapCount);
+            for (int i = 0; i < mapCount; i++) {
+                BeatSaverRankedMap map = new BeatSaverRankedMap();
+                map.setRanked(true);
+                map.setId(readString(buffer));
+                map.setName(readString(buffer));
+                int versionCount = buffer.getInt();
+                List<VersionsItem> versions = new ArrayList<>(versionCount);
+                for (int j = 0; j < versionCount; j++) {
+                    VersionsItem version = new VersionsItem();
+                    version.setHash(readString(buffer));
+                    version.setKey(readString(buffer));
+                    version.setCreatedAt(readString(buffer));
+                    version.setCoverURL(readString(buffer));
+                    int diffCount = buffer.getInt();
+                    List<DiffsItem> diffs = new ArrayList<>(diffCount);
+                    for (int k = 0; k < diffCount; k++) {
+                        DiffsItem diff = new DiffsItem();
+                        diff.setDifficulty(readString(buffer));
+                        diff.setCharacteristic(readString(buffer));
+                        diff.setStars(buffer.getDouble());
+                        diff.setNotes(buffer.getInt());
+                        diff.setSeconds(buffer.getDouble());
+                        diffs.add(diff);
+                    }
+                    version.setDiffs(diffs);
+                    versions.add(version);
+                }
+                map.setVersions(versions);
+                maps.add(map);
+            }
+            return maps;
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Could not read ranked maps snapshot: " + e);
+            return null;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
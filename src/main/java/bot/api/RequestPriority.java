@@ -0,0 +1,10 @@
+package bot.api;
+
+/**
+ * Lane a request waits in for its upstream's rate limit. Interactive requests are served first, background requests
+ * still get a guaranteed share of the budget.
+ */
+public enum RequestPriority {
+    INTERACTIVE,
+    BACKGROUND
+}
@@ -0,0 +1,55 @@
+package bot.api;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How requests to one upstream are retried and when its circuit breaker opens. Only idempotent requests are retried,
+ * and only on connection errors and on statuses that say the upstream may answer later.
+ */
+public class ResiliencePolicy {
+
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    public ResiliencePolicy(int maxAttempts, long baseBackoffMs, long maxBackoffMs, int failureThreshold, long openDurationMs) {
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public long getOpenDurationMs() {
+        return openDurationMs;
+    }
+
+    public static boolean isRetryableStatus(int statusCode) {
+        return statusCode == 408 || statusCode == 429 || statusCode == 500 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+    }
+
+    /**
+     * Counts toward opening the breaker. A 429 only means we were too fast, the rate limiter handles it.
+     */
+    public static boolean isUpstreamFailure(int statusCode) {
+        return statusCode >= 500 || statusCode == 408;
+    }
+
+    /**
+     * Full jitter: a random delay between 0 and the exponential backoff of the attempt.
+     */
+    public long getBackoffMs(int attempt) {
+        long cap = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+}
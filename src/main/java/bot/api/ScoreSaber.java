@@ -5,40 +5,32 @@ import bot.dto.leaderboards.LeaderboardPlayer;
 import bot.dto.player.Player;
 import bot.dto.scoresaber.PlayerScore;
 import bot.utils.DiscordLogger;
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import com.google.gson.reflect.TypeToken;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class ScoreSaber {
 
     final HttpMethods http;
-    final Gson gson;
 
     public ScoreSaber() {
-        http = new HttpMethods();
-        gson = new Gson();
+        this(RequestPriority.INTERACTIVE);
+    }
+
+    public ScoreSaber(RequestPriority priority) {
+        http = new HttpMethods(priority);
     }
 
     public Player getPlayerById(String playerId) {
         String playerUrl = ApiConstants.SS_PLAYER_PRE_URL + playerId + ApiConstants.SS_PLAYER_POST_URL;
-        JsonObject response = http.fetchJsonObject(playerUrl);
+        Player ssPlayer = http.fetch(playerUrl, Player.class);
 
-        if (response == null) {
+        if (ssPlayer == null) {
             DiscordLogger.sendLogInChannel("Could not find player with url \"" + playerUrl + "\".", DiscordLogger.HTTP_ERRORS);
             return null;
         }
-        JsonObject playerInfo = response.getAsJsonObject();
-
-        Player ssPlayer = gson.fromJson(playerInfo.toString(), Player.class);
-        ssPlayer.setHistoryValues(Arrays.stream(ssPlayer.getHistories().split(",")).map(Integer::parseInt).collect(Collectors.toList()));
         return ssPlayer;
     }
 
@@ -59,22 +51,17 @@ public class ScoreSaber {
 
     @Nullable
     private List<PlayerScore> getPlayerScores(String recentScoresUrl) {
-        JsonObject response = http.fetchJsonObject(recentScoresUrl);
-        if (response != null) {
-            JsonArray topScores = response.getAsJsonArray("playerScores");
-            Type listType = new TypeToken<List<PlayerScore>>() {}.getType();
-            return gson.fromJson(topScores.toString(), listType);
+        List<PlayerScore> scores = http.fetchList(recentScoresUrl, PlayerScore.class, "playerScores");
+        if (scores != null) {
+            return scores;
         }
         return new ArrayList<>();
     }
 
     public List<ScoreSaberMapData> getQualifiedMaps() {
         String qualifiedUrl = ApiConstants.QUALIFIED_URL;
-        JsonObject response = http.fetchJsonObject(qualifiedUrl);
-        if (response != null) {
-            JsonArray qualifiedSongs = response.getAsJsonArray("songs");
-            Type listType = new TypeToken<List<ScoreSaberMapData>>() {}.getType();
-            List<ScoreSaberMapData> qualifiedMaps = gson.fromJson(qualifiedSongs.toString(), listType);
+        List<ScoreSaberMapData> qualifiedMaps = http.fetchList(qualifiedUrl, ScoreSaberMapData.class, "songs");
+        if (qualifiedMaps != null) {
             return qualifiedMaps.stream().filter(map -> !map.isRanked()).collect(Collectors.toList());
         }
         return new ArrayList<>();
@@ -88,10 +75,11 @@ public class ScoreSaber {
                 return null;
             }
             String leaderboardUrl = getLeaderboardApiUrl(i, countryCode);
-            JsonObject response = http.fetchJsonObject(leaderboardUrl);
-            JsonArray responsePlayerList = response.getAsJsonArray("players");
-            Type listType = new TypeToken<List<LeaderboardPlayer>>() {}.getType();
-            entries.addAll(gson.fromJson(responsePlayerList, listType));
+            List<LeaderboardPlayer> pageEntries = http.fetchList(leaderboardUrl, LeaderboardPlayer.class, "players");
+            if (pageEntries == null || pageEntries.isEmpty()) {
+                return null;
+            }
+            entries.addAll(pageEntries);
 
             if (entries.size() >= sizeLimit) {
                 entries = entries.subList(100, sizeLimit);
@@ -0,0 +1,136 @@
+package bot.api;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that callers block on before sending a request. The refill rate starts at the configured quota and
+ * follows the rate limit headers of the responses, a 429 or Retry-After pauses the bucket completely.
+ * <p>
+ * Waiting callers queue in a lane per {@link RequestPriority}. Interactive requests get the next token, but while
+ * background requests are waiting at least every {@value #BACKGROUND_TURN_INTERVAL}th token goes to them, so a busy
+ * channel cannot stall the watcher.
+ */
+public class TokenBucket {
+
+    private static final double MIN_RATE_FACTOR = 0.05;
+    private static final int BACKGROUND_TURN_INTERVAL = 5;
+    private static final int WAIT_SAMPLES = 1024;
+
+    private final double burst;
+    private final double configuredRatePerSecond;
+    private double ratePerSecond;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+    private long pausedUntilNanos;
+    private int interactiveGrantsInARow;
+
+    private final Map<RequestPriority, Lane> lanes = new EnumMap<>(RequestPriority.class);
+    private final AtomicLong pauses = new AtomicLong();
+
+    public TokenBucket(int requestsPerMinute, int burst) {
+        this.burst = burst;
+        this.configuredRatePerSecond = requestsPerMinute / 60d;
+        this.ratePerSecond = configuredRatePerSecond;
+        this.tokens = burst;
+        for (RequestPriority priority : RequestPriority.values()) {
+            lanes.put(priority, new Lane());
+        }
+    }
+
+    public synchronized void acquire(RequestPriority priority) throws InterruptedException {
+        long start = System.nanoTime();
+        Lane lane = lanes.get(priority);
+        Object ticket = new Object();
+        lane.waiting.addLast(ticket);
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                refill(now);
+                long waitNanos;
+                if (now < pausedUntilNanos) {
+                    waitNanos = pausedUntilNanos - now;
+                } else if (tokens < 1) {
+                    waitNanos = (long) ((1 - tokens) / ratePerSecond * TimeUnit.SECONDS.toNanos(1));
+                } else if (nextPriority() == priority && lane.waiting.peekFirst() == ticket) {
+                    tokens -= 1;
+                    interactiveGrantsInARow = priority == RequestPriority.INTERACTIVE ? interactiveGrantsInARow + 1 : 0;
+                    break;
+                } else {
+                    // Another waiter has the turn, it wakes us up once it took its token
+                    waitNanos = TimeUnit.SECONDS.toNanos(1);
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, Math.max(waitNanos, TimeUnit.MILLISECONDS.toNanos(1)));
+            }
+        } finally {
+            lane.waiting.remove(ticket);
+            notifyAll();
+        }
+        lane.granted.incrementAndGet();
+        lane.waits.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Blocks every caller until the given time has passed, e.g. after a 429 with Retry-After.
+     */
+    public synchronized void pauseFor(long millis) {
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        if (until > pausedUntilNanos) {
+            pausedUntilNanos = until;
+            tokens = Math.min(tokens, 0);
+            pauses.incrementAndGet();
+        }
+    }
+
+    /**
+     * Spreads the requests the upstream still allows evenly over the rest of its window, never faster than the
+     * configured quota.
+     */
+    public synchronized void adaptToQuota(int remaining, long secondsUntilReset) {
+        long now = System.nanoTime();
+        refill(now);
+        if (remaining <= 0) {
+            pausedUntilNanos = Math.max(pausedUntilNanos, now + TimeUnit.SECONDS.toNanos(Math.max(secondsUntilReset, 1)));
+            tokens = Math.min(tokens, 0);
+            return;
+        }
+        double windowRate = remaining / (double) Math.max(secondsUntilReset, 1);
+        ratePerSecond = Math.max(configuredRatePerSecond * MIN_RATE_FACTOR, Math.min(configuredRatePerSecond, windowRate));
+        tokens = Math.min(tokens, remaining);
+        notifyAll();
+    }
+
+    public synchronized String getStatsSummary() {
+        StringBuilder summary = new StringBuilder(String.format("%.1f/s (max %.1f/s), %d pauses", ratePerSecond, configuredRatePerSecond, pauses.get()));
+        for (Map.Entry<RequestPriority, Lane> entry : lanes.entrySet()) {
+            Lane lane = entry.getValue();
+            summary.append(" | ").append(entry.getKey().name().toLowerCase())
+                    .append(": ").append(lane.waiting.size()).append(" queued, ")
+                    .append(lane.granted.get()).append(" sent, wait ").append(lane.waits.getPercentilesSummary());
+        }
+        return summary.toString();
+    }
+
+    private RequestPriority nextPriority() {
+        boolean interactiveWaiting = !lanes.get(RequestPriority.INTERACTIVE).waiting.isEmpty();
+        boolean backgroundWaiting = !lanes.get(RequestPriority.BACKGROUND).waiting.isEmpty();
+        if (backgroundWaiting && (!interactiveWaiting || interactiveGrantsInARow >= BACKGROUND_TURN_INTERVAL - 1)) {
+            return RequestPriority.BACKGROUND;
+        }
+        return RequestPriority.INTERACTIVE;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1) * ratePerSecond);
+        lastRefillNanos = now;
+    }
+
+    private static class Lane {
+        private final ArrayDeque<Object> waiting = new ArrayDeque<>();
+        private final AtomicLong granted = new AtomicLong();
+        private final LatencyRecorder waits = new LatencyRecorder(WAIT_SAMPLES);
+    }
+}
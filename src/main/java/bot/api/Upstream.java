@@ -0,0 +1,65 @@
+package bot.api;
+
+import java.net.URI;
+
+/**
+ * The APIs the bot talks to, each with its own request budget. ScoreSaber publishes 400 requests per minute, the
+ * others publish no quota and get a conservative one.
+ */
+public enum Upstream {
+    SCORESABER("ScoreSaber", "scoresaber.com", new TokenBucket(400, 20), new ResiliencePolicy(3, 250, 2000, 5, 30000)),
+    BEATSAVER("BeatSaver", "beatsaver.com", new TokenBucket(600, 10), new ResiliencePolicy(3, 250, 2000, 5, 30000)),
+    BEATSAVIOR("BeatSavior", "beatsavior.io", new TokenBucket(120, 5), new ResiliencePolicy(2, 500, 2000, 3, 60000)),
+    MEME("Meme API", "meme-api.herokuapp.com", new TokenBucket(60, 3), new ResiliencePolicy(1, 0, 0, 3, 60000)),
+    OTHER("Other", null, null, new ResiliencePolicy(2, 250, 1000, Integer.MAX_VALUE, 0));
+
+    private final String displayName;
+    private final String host;
+    private final TokenBucket rateLimiter;
+    private final ResiliencePolicy policy;
+    private final CircuitBreaker circuitBreaker;
+
+    Upstream(String displayName, String host, TokenBucket rateLimiter, ResiliencePolicy policy) {
+        this.displayName = displayName;
+        this.host = host;
+        this.rateLimiter = rateLimiter;
+        this.policy = policy;
+        this.circuitBreaker = new CircuitBreaker(displayName, policy.getFailureThreshold(), policy.getOpenDurationMs());
+    }
+
+    public static Upstream forUrl(String url) {
+        String urlHost;
+        try {
+            urlHost = URI.create(url).getHost();
+        } catch (IllegalArgumentException e) {
+            return OTHER;
+        }
+        if (urlHost != null) {
+            for (Upstream upstream : values()) {
+                if (upstream.host != null && (urlHost.equals(upstream.host) || urlHost.endsWith("." + upstream.host))) {
+                    return upstream;
+                }
+            }
+        }
+        return OTHER;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * @return the bucket to acquire before each request, or null if the upstream is not limited
+     */
+    public TokenBucket getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public ResiliencePolicy getPolicy() {
+        return policy;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+}
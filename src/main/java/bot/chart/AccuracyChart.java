@@ -2,7 +2,6 @@ package bot.chart;
 
 import bot.dto.MessageEventDTO;
 import bot.dto.beatsavior.BeatSaviorPlayerScore;
-import bot.main.BotConstants;
 import bot.utils.ChartUtils;
 import bot.utils.Messages;
 import org.apache.commons.collections4.map.LinkedMap;
@@ -17,18 +16,14 @@ import org.knowm.xchart.style.XYStyler;
 import org.knowm.xchart.style.markers.SeriesMarkers;
 
 import java.awt.*;
-import java.io.File;
 
 public class AccuracyChart {
     public static void sendChartImage(BeatSaviorPlayerScore score, String playerName, String diffName, MessageEventDTO event) {
 
         XYChart chart = AccuracyChart.getAccuracyChart(score, playerName, diffName);
-        String filename = BotConstants.RESOURCES_PATH+"accuracyChart_" + score.getPlayerID();
-        ChartUtils.saveChart(chart, filename);
-        File image = new File(filename + ".png");
-        if (image.exists()) {
+        byte[] image = ChartUtils.toPngBytes(chart);
+        if (image != null) {
             Messages.sendImage(image, "accuracyChart_" + score.getPlayerID() + ".png", event.getChannel());
-            image.delete();
         }
     }
 
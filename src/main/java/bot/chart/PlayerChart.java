@@ -2,7 +2,6 @@ package bot.chart;
 
 import bot.dto.MessageEventDTO;
 import bot.dto.player.Player;
-import bot.main.BotConstants;
 import bot.utils.ChartUtils;
 import bot.utils.ListValueUtils;
 import bot.utils.Messages;
@@ -18,7 +17,6 @@ import org.knowm.xchart.style.markers.SeriesMarkers;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -34,12 +32,9 @@ public class PlayerChart {
             Messages.sendMessage("Could not find history values for user. Please update the user with \"ru update <ScoreSaber URL>\".", event.getChannel());
             return;
         }
-        String filepath = BotConstants.RESOURCES_PATH + player.getId();
-        storePlayerChartToFile(player, filepath);
-        File image = new File(filepath + ".png");
-        if (image.exists()) {
+        byte[] image = getPlayerChartBytes(player);
+        if (image != null) {
             Messages.sendImage(image, player.getName() + ".png", event.getChannel());
-            image.delete();
         }
     }
 
@@ -63,13 +58,9 @@ public class PlayerChart {
         }
 
         XYChart chart = getPlayerChart(players, max, min);
-        String filename = BotConstants.RESOURCES_PATH+"players";
-
-        ChartUtils.saveChart(chart, filename);
-        File image = new File(filename + ".png");
-        if (image.exists()) {
+        byte[] image = ChartUtils.toPngBytes(chart);
+        if (image != null) {
             Messages.sendImage(image, "players.png", event.getChannel());
-            image.delete();
         }
     }
 
@@ -146,12 +137,12 @@ public class PlayerChart {
         styler.setAxisTickLabelsColor(Color.WHITE);
     }
 
-    public void storePlayerChartToFile(Player player, String filePath) {
+    public byte[] getPlayerChartBytes(Player player) {
         List<Integer> rankValues = ListValueUtils.addElementReturnList(player.getHistoryValues(), player.getRank());
         double max = Collections.min(rankValues), min = Collections.max(rankValues);
 
         XYChart chart = getPlayerChart(Collections.singletonList(player), max, min);
-        ChartUtils.saveChart(chart, filePath);
+        return ChartUtils.toPngBytes(chart);
     }
 
     public BufferedImage getPlayerChartImage(Player player) {
@@ -2,7 +2,6 @@ package bot.chart;
 
 import bot.dto.MessageEventDTO;
 import bot.dto.player.PlayerSkills;
-import bot.main.BotConstants;
 import bot.utils.ChartUtils;
 import bot.utils.Messages;
 import org.knowm.xchart.RadarChart;
@@ -12,19 +11,14 @@ import org.knowm.xchart.style.Styler.LegendLayout;
 import org.knowm.xchart.style.Styler.LegendPosition;
 
 import java.awt.*;
-import java.io.File;
 
 public class RadarStatsChart {
     public void sendChartImage(PlayerSkills skills, MessageEventDTO event) {
 
         RadarChart chart = getRadarChart(skills);
-        String filename = BotConstants.RESOURCES_PATH+"players";
-
-        ChartUtils.saveChart(chart, filename);
-        File image = new File(filename + ".png");
-        if (image.exists()) {
+        byte[] image = ChartUtils.toPngBytes(chart);
+        if (image != null) {
             Messages.sendImage(image, "players.png", event.getChannel());
-            image.delete();
         }
     }
 
@@ -1,5 +1,6 @@
 package bot.commands;
 
+import bot.api.RequestPriority;
 import bot.api.ScoreSaber;
 import bot.db.DatabaseManager;
 import bot.dto.MessageEventDTO;
@@ -18,7 +19,6 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 public class ClaimPPRole {
 
@@ -29,7 +29,10 @@ public class ClaimPPRole {
     }
 
     public void validateAndAssignRole(@NotNull Member member, MessageChannel channel, boolean showMessages) {
-        ScoreSaber ss = new ScoreSaber();
+        validateAndAssignRole(member, channel, showMessages, new ScoreSaber());
+    }
+
+    private void validateAndAssignRole(@NotNull Member member, MessageChannel channel, boolean showMessages, ScoreSaber ss) {
         long discordUserId = member.getUser().getIdLong();
         long playerId = Long.parseLong(db.getPlayerByDiscordId(discordUserId).getId());
         if (playerId == -1) {
@@ -59,16 +62,13 @@ public class ClaimPPRole {
     }
 
     public void validateAndAssignRoleForAll(MessageEventDTO event) {
+        // One request per registered member, they must not take tokens from commands someone is waiting for
+        ScoreSaber ss = new ScoreSaber(RequestPriority.BACKGROUND);
         List<Player> storedPlayers = db.getAllStoredPlayers();
         for (Player player : storedPlayers) {
             Member member = event.getGuild().getMemberById(player.getDiscordUserId());
             if (member != null) {
-                validateAndAssignRole(member, event.getChannel(), false);
-            }
-            try {
-                TimeUnit.MILLISECONDS.sleep(125);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+                validateAndAssignRole(member, event.getChannel(), false, ss);
             }
         }
         Messages.sendMessage("Members have been updated. ✔️", event.getChannel());
@@ -23,13 +23,13 @@ public class Improvement {
         List<Player> storedPlayers = db.getAllStoredPlayers();
         List<PlayerImprovement> improvements = new ArrayList<>();
         for (Player storedPlayer : storedPlayers) {
-            List<Integer> historyValues = storedPlayer.getHistoryValues();
+            int[] history = storedPlayer.getHistory();
 
-            if (historyValues == null || historyValues.size() < 7) {
+            if (history == null || history.length < 8) {
                 continue;
             }
-            int newRank = historyValues.get(historyValues.size() - 1);
-            int oldRank = historyValues.get(historyValues.size() - 1 - 7);
+            int newRank = history[history.length - 1];
+            int oldRank = history[history.length - 1 - 7];
             improvements.add(new PlayerImprovement(storedPlayer.getName(), oldRank, newRank));
         }
         Map<String, String> improvementsString = MapUtils.convertPlayerImprovements(improvements);
@@ -5,14 +5,11 @@ import bot.dto.MessageEventDTO;
 import bot.dto.player.Player;
 import bot.graphics.GraphicsConstants;
 import bot.graphics.ProfileImage;
-import bot.main.BotConstants;
+import bot.graphics.RenderService;
 import bot.utils.GraphicsUtils;
-import bot.utils.JavaFXUtils;
 import bot.utils.Messages;
 
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.util.concurrent.TimeUnit;
 
 public class Profile {
 
@@ -29,29 +26,6 @@ public class Profile {
         String playerId = player.getId();
         String messageId = event.getMessage().getId();
         String fileName = "profile_" + playerId + "_" + messageId + ".png";
-        String filePath = BotConstants.RESOURCES_PATH + fileName;
-        ProfileImage.setQrCode(qrCodeImage);
-        ProfileImage.setPlayer(player);
-        ProfileImage.setFilePath(filePath);
-        JavaFXUtils.launch(ProfileImage.class);
-
-        File profileFile = new File(filePath);
-        int profileWaitingCounter = 0;
-        ProfileImage.setFinished(false); //Timing Problem Fix
-        while (!ProfileImage.isFinished()) {
-            if (profileWaitingCounter > 30) {
-                break;
-            }
-            try {
-                TimeUnit.SECONDS.sleep(1);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-            profileWaitingCounter++;
-        }
-        if (profileFile.exists()) {
-            Messages.sendImage(profileFile, fileName, event.getChannel());
-            profileFile.delete();
-        }
+        Messages.sendRenderedImage(RenderService.getInstance().render(new ProfileImage(player, qrCodeImage)), fileName, event.getChannel());
     }
 }
@@ -10,18 +10,18 @@ import bot.dto.MessageEventDTO;
 import bot.dto.Song;
 import bot.dto.beatsavior.BeatSaviorPlayerScore;
 import bot.dto.player.Player;
-import bot.dto.rankedmaps.BeatSaverRankedMap;
+import bot.dto.rankedmaps.RankedMapEntry;
 import bot.dto.rankedmaps.RankedMaps;
 import bot.dto.scoresaber.Leaderboard;
 import bot.dto.scoresaber.PlayerScore;
 import bot.dto.scoresaber.Score;
 import bot.graphics.AccuracyGrid;
+import bot.graphics.RenderService;
 import bot.main.BotConstants;
 import bot.utils.*;
 
-import java.io.File;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 
 public class RecentSong {
 
@@ -81,13 +81,11 @@ public class RecentSong {
             Score recentScore = recentData.getScore();
 
 
-            String accGridFilePath = BotConstants.RESOURCES_PATH+"accGrid_" + playerId + "_" + event.getId() + ".png";
-            File gridImage = new File(accGridFilePath);
-
             // Saviour
             List<BeatSaviorPlayerScore> saviourScores = bsavior.fetchPlayerMaps(Long.valueOf(playerId)).getPlayerMaps();
 
             BeatSaviorPlayerScore saviourScore = null;
+            CompletableFuture<byte[]> gridImage = null;
             boolean hasBeatSavior = saviourScores != null && !saviourScores.isEmpty();
             if (hasBeatSavior) {
                 saviourScore = saviourScores.stream()
@@ -98,19 +96,7 @@ public class RecentSong {
                 if (saviourScore != null) {
                     List<Float> gridAcc = saviourScore.getTrackers().getAccuracyTracker().getGridAcc();
                     List<Integer> notesCounts = saviourScore.getTrackers().getAccuracyTracker().getGridCut();
-                    AccuracyGrid.setAccuracyValues(gridAcc);
-                    AccuracyGrid.setNotesCounts(notesCounts);
-                    AccuracyGrid.setPlayerId(playerId);
-                    AccuracyGrid.setCustomImageUrl(player.getCustomAccGridImage());
-                    AccuracyGrid.setMessageId(String.valueOf(event.getId()));
-                    AccuracyGrid.setFilePath(accGridFilePath);
-
-                    // Remove old acc grid file if exists
-                    if (gridImage.exists()) {
-                        gridImage.delete();
-                    }
-
-                    JavaFXUtils.launch(AccuracyGrid.class);
+                    gridImage = RenderService.getInstance().render(new AccuracyGrid(gridAcc, notesCounts, player.getCustomAccGridImage()));
                 } else {
                     hasBeatSavior = false;
                 }
@@ -121,10 +107,10 @@ public class RecentSong {
             String coverUrl = null;
             int rankOnPlayerLeaderboard = -1;
             if (isRanked) {
-                BeatSaverRankedMap rankedMap = RankedMapUtils.findRankedMapBySongHash(ranked, recentLeaderboard.getSongHash());
+                RankedMapEntry rankedMap = RankedMapUtils.findRankedMapEntryBySongHash(ranked, recentLeaderboard.getSongHash());
                 rankOnPlayerLeaderboard = Format.roundDouble((Math.log10(recentScore.getWeight()) + Math.log10(0.965)) / Math.log10(0.965));
                 if (rankedMap != null) {
-                    starRating = SongUtils.getStarRatingForMapDiff(rankedMap, recentLeaderboard.getDifficultyValue());
+                    starRating = rankedMap.getStars(recentLeaderboard.getDifficultyValue());
                 }
             }
 
@@ -206,24 +192,7 @@ public class RecentSong {
             Messages.sendMessageWithImagesAndTexts(songInfo, songName, songUrl, coverUrl, diffImageUrl, footerText, event.getChannel());
             if (hasBeatSavior) {
                 AccuracyChart.sendChartImage(saviourScore, player.getName(), recentLeaderboard.getDifficulty().getDifficultyName(), event);
-                int gridWaitingCounter = 0;
-                while (!AccuracyGrid.isFinished()) {
-                    if (gridWaitingCounter > 8) {
-                        break;
-                    }
-                    try {
-                        TimeUnit.SECONDS.sleep(1);
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                    gridWaitingCounter++;
-                }
-                if (gridImage.exists()) {
-                    Messages.sendImage(gridImage, "accGrid_" + playerId + "_" + event.getId() + ".png", event.getChannel());
-                    gridImage.delete();
-                } else {
-                    DiscordLogger.sendLogInChannel("Image wasnt generated. accGrid_" + playerId + "_" + event.getId() + ".png", DiscordLogger.ERRORS);
-                }
+                Messages.sendRenderedImage(gridImage, "accGrid_" + playerId + "_" + event.getId() + ".png", event.getChannel());
 
             } else {
                 Messages.sendPlainMessage(Format.italic("No BeatSavior data was found for this score.\nMaybe it was set too far in the past or you don't have the mod installed."), event.getChannel());
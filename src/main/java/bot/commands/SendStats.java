@@ -1,7 +1,14 @@
 package bot.commands;
 
+import bot.api.BeatSaver;
+import bot.api.HttpMethods;
+import bot.api.HttpResponseCache;
+import bot.api.ImageFetchService;
+import bot.db.DatabaseManager;
 import bot.dto.MessageEventDTO;
-import bot.main.BotConstants;
+import bot.graphics.CoverThumbnailStore;
+import bot.graphics.RenderService;
+import bot.main.CommandExecutor;
 import bot.utils.Messages;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Guild;
@@ -9,15 +16,19 @@ import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.MessageChannel;
 import net.dv8tion.jda.api.entities.User;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class SendStats {
 
+    final CommandExecutor commandExecutor;
+
+    public SendStats(CommandExecutor commandExecutor) {
+        this.commandExecutor = commandExecutor;
+    }
+
     public void sendStats(MessageEventDTO event) {
         User author = event.getAuthor().getUser();
         MessageChannel dmChannel = author.openPrivateChannel().complete();
@@ -38,6 +49,49 @@ public class SendStats {
         statsResult.append("Member count:".toUpperCase())
                 .append("   ")
                 .append(members.size())
+                .append("\n");
+        statsResult.append("Registered players:".toUpperCase())
+                .append("   ")
+                .append(DatabaseManager.getRegisteredPlayerCount())
+                .append("\n\n");
+        statsResult.append("HTTP connections:".toUpperCase())
+                .append("   ")
+                .append(HttpMethods.getConnectionManager().getStatsSummary())
+                .append("\n");
+        statsResult.append("Upstreams:".toUpperCase())
+                .append(HttpMethods.getUpstreamStatsSummary())
+                .append("\n");
+        statsResult.append("HTTP cache:".toUpperCase())
+                .append("   ")
+                .append(HttpResponseCache.getInstance().getStatsSummary())
+                .append("\n");
+        statsResult.append("DB connections:".toUpperCase())
+                .append("   ")
+                .append(DatabaseManager.getPoolStatsSummary())
+                .append("\n\n");
+        statsResult.append("Renders:".toUpperCase())
+                .append("   ")
+                .append(RenderService.getInstance().getStatsSummary())
+                .append("\n");
+        statsResult.append("BeatSaver songs:".toUpperCase())
+                .append("   ")
+                .append(BeatSaver.getSongCacheStatsSummary())
+                .append("\n");
+        statsResult.append("Image fetches:".toUpperCase())
+                .append("   ")
+                .append(ImageFetchService.getInstance().getStatsSummary())
+                .append("\n");
+        statsResult.append("Cover tiles:".toUpperCase())
+                .append("   ")
+                .append(CoverThumbnailStore.getInstance().getStatsSummary())
+                .append("\n");
+        statsResult.append("Render cache:".toUpperCase())
+                .append("   ")
+                .append(RenderService.getInstance().getCacheStatsSummary())
+                .append("\n");
+        statsResult.append("Commands:".toUpperCase())
+                .append("   ")
+                .append(commandExecutor.getStatsSummary())
                 .append("\n\n");
         for (Guild guild : guilds) {
             statsResult.append(guild.getName())
@@ -46,15 +100,7 @@ public class SendStats {
                     .append(" members")
                     .append("\n");
         }
-        File statsFile = new File(BotConstants.RESOURCES_PATH+"stats_"+event.getId()+".txt");
-        try (PrintWriter out = new PrintWriter(statsFile.getAbsolutePath())) {
-            out.println(statsResult);
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-            return;
-        }
-
-        Messages.sendFile(statsFile, statsFile.getName(), event.getChannel());
-        statsFile.delete();
+        byte[] stats = statsResult.toString().getBytes(StandardCharsets.UTF_8);
+        Messages.sendFile(stats, "stats_" + event.getId() + ".txt", event.getChannel());
     }
 }
@@ -6,19 +6,18 @@ import bot.db.DatabaseManager;
 import bot.dto.MessageEventDTO;
 import bot.dto.Song;
 import bot.dto.player.Player;
-import bot.dto.rankedmaps.BeatSaverRankedMap;
+import bot.dto.rankedmaps.RankedMapEntry;
 import bot.dto.rankedmaps.RankedMaps;
 import bot.dto.scoresaber.PlayerScore;
+import bot.graphics.RenderService;
 import bot.graphics.SongsImage;
-import bot.main.BotConstants;
-import bot.utils.JavaFXUtils;
 import bot.utils.Messages;
 import bot.utils.RankedMapUtils;
 import bot.utils.SongUtils;
 
-import java.io.File;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class SongsCommands {
     //TODO: TopSongs & RecentSongs redundant code
@@ -52,8 +51,9 @@ public class SongsCommands {
             Messages.sendMessage("Scores could not be fetched. Please try again later.", event.getChannel());
             return;
         }
+        Map<String, Song> songsByHash = bs.fetchSongsByHashes(scores.stream().map(score -> score.getLeaderboard().getSongHash()).collect(Collectors.toList()));
         for (PlayerScore score : scores) {
-            Song song = bs.fetchSongByHash(score.getLeaderboard().getSongHash());
+            Song song = songsByHash.get(score.getLeaderboard().getSongHash());
             if (song != null) {
                 Song.Version version = song.getVersionByHash(score.getLeaderboard().getSongHash().toLowerCase());
                 if (version == null) {
@@ -69,42 +69,13 @@ public class SongsCommands {
                 }
             }
 
-            BeatSaverRankedMap map = RankedMapUtils.findRankedMapBySongHash(ranked, score.getLeaderboard().getSongHash());
-            if (map != null) {
-                float starRating = SongUtils.getStarRatingForMapDiff(map, score.getLeaderboard().getDifficultyValue());
-                score.setSongStars(starRating);
+            RankedMapEntry rankedMap = RankedMapUtils.findRankedMapEntryBySongHash(ranked, score.getLeaderboard().getSongHash());
+            if (rankedMap != null) {
+                score.setSongStars(rankedMap.getStars(score.getLeaderboard().getDifficultyValue()));
             }
         }
-        String filePath = BotConstants.RESOURCES_PATH+"recentSongs_" + playerId + "_" + messageId + ".png";
-        File recentSongsImage = new File(filePath);
-        // Remove old image file if exists
-        if (recentSongsImage.exists()) {
-            recentSongsImage.delete();
-        }
-
-        SongsImage.setFilePath(filePath);
-        SongsImage.setScores(scores);
-        JavaFXUtils.launch(SongsImage.class);
-
-        int recentSongsWaitingCounter = 0;
-        SongsImage.setFinished(false); // Timing Problem Fix
-        while (!SongsImage.isFinished()) {
-
-            if (recentSongsWaitingCounter > 30) {
-                break;
-            }
-            try {
-                TimeUnit.SECONDS.sleep(1);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-            recentSongsWaitingCounter++;
-        }
-        if (recentSongsImage.exists()) {
-            Messages.sendImage(recentSongsImage, "recentSongs_" + playerId + "_" + messageId + ".png", event.getChannel());
-            recentSongsImage.delete();
-        }
-
+        String fileName = "recentSongs_" + playerId + "_" + messageId + ".png";
+        Messages.sendRenderedImage(RenderService.getInstance().render(new SongsImage(scores)), fileName, event.getChannel());
     }
 
     public void sendTopSongs(Player player, int index, MessageEventDTO event) {
@@ -128,8 +99,9 @@ public class SongsCommands {
             Messages.sendMessage("Scores could not be fetched. Please try again later.", event.getChannel());
             return;
         }
+        Map<String, Song> songsByHash = bs.fetchSongsByHashes(scores.stream().map(score -> score.getLeaderboard().getSongHash()).collect(Collectors.toList()));
         for (PlayerScore score : scores) {
-            Song song = bs.fetchSongByHash(score.getLeaderboard().getSongHash());
+            Song song = songsByHash.get(score.getLeaderboard().getSongHash());
             if (song != null) {
                 score.setCoverURL(song.getVersionByHash(score.getLeaderboard().getSongHash()).getCoverURL());
 
@@ -141,41 +113,12 @@ public class SongsCommands {
                 }
             }
 
-            BeatSaverRankedMap map = RankedMapUtils.findRankedMapBySongHash(ranked, score.getLeaderboard().getSongHash());
-            if (map != null) {
-                float starRating = SongUtils.getStarRatingForMapDiff(map, score.getLeaderboard().getDifficultyValue());
-                score.setSongStars(starRating);
+            RankedMapEntry rankedMap = RankedMapUtils.findRankedMapEntryBySongHash(ranked, score.getLeaderboard().getSongHash());
+            if (rankedMap != null) {
+                score.setSongStars(rankedMap.getStars(score.getLeaderboard().getDifficultyValue()));
             }
         }
-        String filePath = BotConstants.RESOURCES_PATH+"topSongs_" + playerId + "_" + messageId + ".png";
-        File topSongsImage = new File(filePath);
-        // Remove old image file if exists
-        if (topSongsImage.exists()) {
-            topSongsImage.delete();
-        }
-
-        SongsImage.setFilePath(filePath);
-        SongsImage.setScores(scores);
-        JavaFXUtils.launch(SongsImage.class);
-
-        int recentSongsWaitingCounter = 0;
-        SongsImage.setFinished(false); //Timing Problem Fix
-        while (!SongsImage.isFinished()) {
-
-            if (recentSongsWaitingCounter > 30) {
-                break;
-            }
-            try {
-                TimeUnit.SECONDS.sleep(1);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-            recentSongsWaitingCounter++;
-        }
-        if (topSongsImage.exists()) {
-            Messages.sendImage(topSongsImage, "topSongsImage_" + playerId + "_" + messageId + ".png", event.getChannel());
-            topSongsImage.delete();
-        }
-
+        String fileName = "topSongsImage_" + playerId + "_" + messageId + ".png";
+        Messages.sendRenderedImage(RenderService.getInstance().render(new SongsImage(scores)), fileName, event.getChannel());
     }
 }
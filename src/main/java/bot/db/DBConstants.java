@@ -4,13 +4,21 @@ import org.apache.commons.lang3.StringUtils;
 
 public class DBConstants {
 
-    public static final String SELECT_PLAYER_STMT = "select * from player;";
-    public static final String SELECT_PLAYER_BY_NAME_STMT = "select * from player where player_name = ?;";
-    public static final String SELECT_PLAYER_BY_DISCORD_ID_STMT = "select * from player where discord_user_id = ?;";
-    public static final String SELECT_DISCORD_ID_BY_PLAYER_ID_STMT = "select discord_user_id from player where player_id = ?;";
-    public static final String UPDATE_PLAYER_BY_PLAYER_ID_STMT = buildUpdateStatement("player", "player_id", "player_id", "player_name", "player_avatar", "player_rank", "player_country_rank", "player_pp", "player_country", "discord_user_id", "player_history", "user_customAccGridImage");
+    // player_history stays written next to player_history_blob, so a rollback to a build without the blob column
+    // loses nothing. The legacy statements are used while the blob column is not available.
+    private static final String PLAYER_COLUMNS = "player_id, player_name, player_avatar, player_rank, player_country_rank, player_pp, player_country, discord_user_id, player_history, user_customAccGridImage";
+
+    public static final String SELECT_PLAYER_STMT = "select " + PLAYER_COLUMNS + ", player_history_blob from player;";
+    public static final String SELECT_PLAYER_LEGACY_STMT = "select " + PLAYER_COLUMNS + " from player;";
+    public static final String UPDATE_PLAYER_BY_PLAYER_ID_STMT = buildUpdateStatement("player", "player_id", "player_id", "player_name", "player_avatar", "player_rank", "player_country_rank", "player_pp", "player_country", "discord_user_id", "player_history", "user_customAccGridImage", "player_history_blob");
+    public static final String UPDATE_PLAYER_BY_PLAYER_ID_LEGACY_STMT = buildUpdateStatement("player", "player_id", "player_id", "player_name", "player_avatar", "player_rank", "player_country_rank", "player_pp", "player_country", "discord_user_id", "player_history", "user_customAccGridImage");
     public static final String DELETE_PLAYER_BY_DISCORD_ID = "delete from player where discord_user_id = ?;";
-    public static final String INSERT_PLAYER_STMT = buildInsertStatement("player", "player_id", "player_name", "player_avatar", "player_rank", "player_country_rank", "player_pp", "player_country", "discord_user_id", "player_history");
+    public static final String INSERT_PLAYER_STMT = buildInsertStatement("player", "player_id", "player_name", "player_avatar", "player_rank", "player_country_rank", "player_pp", "player_country", "discord_user_id", "player_history", "player_history_blob");
+    public static final String INSERT_PLAYER_LEGACY_STMT = buildInsertStatement("player", "player_id", "player_name", "player_avatar", "player_rank", "player_country_rank", "player_pp", "player_country", "discord_user_id", "player_history");
+    public static final String ADD_HISTORY_BLOB_COLUMN = "alter table player add column player_history_blob blob null;";
+    public static final String SELECT_HISTORIES_TO_SYNC = "select player_id, player_history, player_history_blob from player where player_history is not null or player_history_blob is not null;";
+    public static final String SYNC_HISTORY_BLOB_STMT = "update player set player_history_blob = ? where player_id = ?;";
+    public static final String RESTORE_HISTORY_STRING_STMT = "update player set player_history = ? where player_id = ?;";
     public static final String SELECT_SKILLS_BY_DISCORD_ID = "select * from player_skills where discord_user_id = ?;";
 
     public static final String DB_HOST = System.getenv("db_host");
@@ -3,44 +3,202 @@ package bot.db;
 import bot.dto.player.Player;
 import bot.dto.player.PlayerSkills;
 import bot.utils.DiscordLogger;
+import bot.utils.HistoryCodec;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.commons.lang3.tuple.Pair;
 
 import java.sql.*;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 public class DatabaseManager {
-    private Connection con;
+
+    private static final int DEFAULT_POOL_SIZE = 8;
+    private static final int UPDATE_BATCH_SIZE = 500;
+
+    private static volatile HikariDataSource dataSource;
+    private static volatile boolean historyBlobColumn;
+    private static final PlayerRegistry registry = new PlayerRegistry();
+
+    private static final AtomicLong connectionRequests = new AtomicLong();
+    private static final AtomicLong totalWaitNanos = new AtomicLong();
+    private static final AtomicLong maxWaitNanos = new AtomicLong();
 
     public void connectToDatabase() {
-        try {
-            if (con == null || con.isClosed()) {
-                Class.forName("com.mysql.cj.jdbc.Driver");
+        if (dataSource != null) {
+            return;
+        }
+        synchronized (DatabaseManager.class) {
+            if (dataSource != null) {
+                return;
+            }
+            try {
                 String connectionUrl = "mysql://" + DBConstants.DB_HOST + ":" + DBConstants.DB_PORT + "/" + DBConstants.DB_DATABASE;
                 System.out.println("*** " + connectionUrl);
-                con = DriverManager.getConnection("jdbc:" + connectionUrl + "?autoReconnect=true&serverTimezone=UTC&useUnicode=yes&characterEncoding=UTF-8", DBConstants.DB_USERNAME, DBConstants.DB_PASSWORD);
-                System.out.println("*** Connected to database: " + con.getMetaData().getDatabaseProductName());
+
+                HikariConfig config = new HikariConfig();
+                config.setPoolName("bot-db");
+                config.setDriverClassName("com.mysql.cj.jdbc.Driver");
+                config.setJdbcUrl("jdbc:" + connectionUrl + "?serverTimezone=UTC&useUnicode=yes&characterEncoding=UTF-8");
+                config.setUsername(DBConstants.DB_USERNAME);
+                config.setPassword(DBConstants.DB_PASSWORD);
+                config.setMaximumPoolSize(NumberUtils.toInt(System.getenv("db_pool_size"), DEFAULT_POOL_SIZE));
+                config.setMinimumIdle(2);
+                config.setConnectionTimeout(TimeUnit.SECONDS.toMillis(5));
+                config.setValidationTimeout(TimeUnit.SECONDS.toMillis(3));
+                config.setIdleTimeout(TimeUnit.MINUTES.toMillis(5));
+                config.setMaxLifetime(TimeUnit.MINUTES.toMillis(30));
+                // Driver side statement cache for the fixed SQL in DBConstants
+                config.addDataSourceProperty("cachePrepStmts", "true");
+                config.addDataSourceProperty("useServerPrepStmts", "true");
+                config.addDataSourceProperty("prepStmtCacheSize", "64");
+                config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+                config.addDataSourceProperty("rewriteBatchedStatements", "true");
+
+                dataSource = new HikariDataSource(config);
+                try (Connection con = dataSource.getConnection()) {
+                    System.out.println("*** Connected to database: " + con.getMetaData().getDatabaseProductName());
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+                if (dataSource != null) {
+                    dataSource.close();
+                    dataSource = null;
+                }
+                return;
             }
-        } catch (Exception e) {
+            migrateHistoryStorage();
+        }
+    }
+
+    /**
+     * Adds the player_history_blob column and brings it in line with player_history, which is still written as well.
+     * Rows written by a build that only knows one of the two columns are repaired on the next start. If any of this
+     * fails, the blob column stays unused and players are read and written through player_history alone.
+     */
+    private void migrateHistoryStorage() {
+        try (Connection con = getConnection()) {
+            boolean hasColumn;
+            try (ResultSet columns = con.getMetaData().getColumns(con.getCatalog(), null, "player", "player_history_blob")) {
+                hasColumn = columns.next();
+            }
+            if (!hasColumn) {
+                try (Statement stmt = con.createStatement()) {
+                    stmt.execute(DBConstants.ADD_HISTORY_BLOB_COLUMN);
+                }
+                System.out.println("*** Added player_history_blob column");
+            }
+            syncHistoryColumns(con);
+            historyBlobColumn = true;
+        } catch (SQLException | RuntimeException e) {
+            System.out.println("*** Rank history migration failed, using player_history only: " + e.getMessage());
             e.printStackTrace();
-            try {
-                if (!con.isClosed()) {
-                    con.close();
+        }
+    }
+
+    private void syncHistoryColumns(Connection con) throws SQLException {
+        int blobsWritten = 0;
+        int stringsRestored = 0;
+        con.setAutoCommit(false);
+        try (PreparedStatement select = con.prepareStatement(DBConstants.SELECT_HISTORIES_TO_SYNC);
+             PreparedStatement updateBlob = con.prepareStatement(DBConstants.SYNC_HISTORY_BLOB_STMT);
+             PreparedStatement restoreString = con.prepareStatement(DBConstants.RESTORE_HISTORY_STRING_STMT);
+             ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                String playerId = rs.getString("player_id");
+                String historyString = rs.getString("player_history");
+                int[] fromBlob = decodeOrNull(rs.getBytes("player_history_blob"));
+                if (historyString == null) {
+                    if (fromBlob != null) {
+                        restoreString.setString(1, HistoryCodec.format(fromBlob));
+                        restoreString.setString(2, playerId);
+                        restoreString.addBatch();
+                        if (++stringsRestored % UPDATE_BATCH_SIZE == 0) {
+                            restoreString.executeBatch();
+                        }
+                    }
+                    continue;
+                }
+                int[] fromString;
+                try {
+                    fromString = HistoryCodec.parse(historyString);
+                } catch (NumberFormatException e) {
+                    System.out.println("Skipping unreadable history of player " + playerId);
+                    continue;
+                }
+                if (fromString == null || Arrays.equals(fromString, fromBlob)) {
+                    continue;
+                }
+                updateBlob.setBytes(1, HistoryCodec.encode(fromString));
+                updateBlob.setString(2, playerId);
+                updateBlob.addBatch();
+                if (++blobsWritten % UPDATE_BATCH_SIZE == 0) {
+                    updateBlob.executeBatch();
                 }
-            } catch (SQLException e1) {
-                e1.printStackTrace();
             }
+            updateBlob.executeBatch();
+            restoreString.executeBatch();
+            con.commit();
+        } catch (SQLException | RuntimeException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(true);
+        }
+        if (blobsWritten > 0 || stringsRestored > 0) {
+            System.out.println("*** Synced rank history: " + blobsWritten + " blobs written, " + stringsRestored + " strings restored");
+        }
+    }
+
+    private static int[] decodeOrNull(byte[] blob) {
+        try {
+            return HistoryCodec.decode(blob);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return dataSource.getConnection();
+        } finally {
+            long waited = System.nanoTime() - start;
+            connectionRequests.incrementAndGet();
+            totalWaitNanos.addAndGet(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+        }
+    }
+
+    public static String getPoolStatsSummary() {
+        HikariDataSource source = dataSource;
+        if (source == null || source.getHikariPoolMXBean() == null) {
+            return "Not connected";
         }
+        HikariPoolMXBean pool = source.getHikariPoolMXBean();
+        long requests = connectionRequests.get();
+        long averageWaitMs = requests == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get() / requests);
+        return "Active: " + pool.getActiveConnections()
+                + "   Idle: " + pool.getIdleConnections()
+                + "   Total: " + pool.getTotalConnections() + " / " + source.getMaximumPoolSize()
+                + "   Waiting: " + pool.getThreadsAwaitingConnection()
+                + "   Avg wait: " + averageWaitMs + "ms"
+                + "   Max wait: " + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()) + "ms";
     }
 
     public boolean savePlayer(Player player) {
-        if (con == null) {
+        if (dataSource == null) {
             return false;
         }
-        try {
-            PreparedStatement stmt = con.prepareStatement(DBConstants.INSERT_PLAYER_STMT);
+        boolean withBlob = historyBlobColumn;
+        try (Connection con = getConnection();
+             PreparedStatement stmt = con.prepareStatement(withBlob ? DBConstants.INSERT_PLAYER_STMT : DBConstants.INSERT_PLAYER_LEGACY_STMT)) {
             stmt.setString(1, player.getId());
             stmt.setString(2, player.getName());
             stmt.setString(3, player.getProfilePicture());
@@ -50,7 +208,14 @@ public class DatabaseManager {
             stmt.setString(7, player.getCountry());
             stmt.setLong(8, player.getDiscordUserId());
             stmt.setString(9, player.getHistories());
-            return stmt.executeUpdate() == 1;
+            if (withBlob) {
+                stmt.setBytes(10, player.getHistoryBlob());
+            }
+            boolean saved = stmt.executeUpdate() == 1;
+            if (saved) {
+                registry.put(player);
+            }
+            return saved;
         } catch (SQLIntegrityConstraintViolationException e) {
             // ok
         } catch (Exception e) {
@@ -62,13 +227,15 @@ public class DatabaseManager {
     }
 
     public boolean deletePlayerByDiscordUserId(long userId) {
-        if (con == null) {
+        if (dataSource == null) {
             return false;
         }
-        try {
-            PreparedStatement stmt = con.prepareStatement(DBConstants.DELETE_PLAYER_BY_DISCORD_ID);
+        try (Connection con = getConnection();
+             PreparedStatement stmt = con.prepareStatement(DBConstants.DELETE_PLAYER_BY_DISCORD_ID)) {
             stmt.setLong(1, userId);
-            return stmt.executeUpdate() == 1;
+            boolean deleted = stmt.executeUpdate() == 1;
+            registry.removeByDiscordId(userId);
+            return deleted;
         } catch (Exception e) {
             DiscordLogger.sendLogInChannel(ExceptionUtils.getStackTrace(e), DiscordLogger.DB);
             e.printStackTrace();
@@ -77,12 +244,13 @@ public class DatabaseManager {
     }
 
     public boolean updatePlayer(Player newPlayer) {
-        if (con == null) {
+        if (dataSource == null) {
             return false;
         }
-        String stmtToUse = DBConstants.UPDATE_PLAYER_BY_PLAYER_ID_STMT;
-        try {
-            PreparedStatement stmt = con.prepareStatement(stmtToUse);
+        boolean withBlob = historyBlobColumn;
+        String stmtToUse = withBlob ? DBConstants.UPDATE_PLAYER_BY_PLAYER_ID_STMT : DBConstants.UPDATE_PLAYER_BY_PLAYER_ID_LEGACY_STMT;
+        try (Connection con = getConnection();
+             PreparedStatement stmt = con.prepareStatement(stmtToUse)) {
             stmt.setString(1, newPlayer.getId());
             stmt.setString(2, newPlayer.getName());
             stmt.setString(3, newPlayer.getProfilePicture());
@@ -93,8 +261,16 @@ public class DatabaseManager {
             stmt.setLong(8, newPlayer.getDiscordUserId());
             stmt.setString(9, newPlayer.getHistories());
             stmt.setString(10, newPlayer.getCustomAccGridImage());
-            stmt.setString(11, newPlayer.getId()); // Always last!
-            return stmt.executeUpdate() == 1;
+            int next = 11;
+            if (withBlob) {
+                stmt.setBytes(next++, newPlayer.getHistoryBlob());
+            }
+            stmt.setString(next, newPlayer.getId()); // Always last!
+            boolean updated = stmt.executeUpdate() == 1;
+            if (updated) {
+                registry.put(newPlayer);
+            }
+            return updated;
         } catch (Exception e) {
             System.out.println("Failed for player with id: " + newPlayer.getId());
             DiscordLogger.sendLogInChannel(ExceptionUtils.getStackTrace(e), DiscordLogger.DB);
@@ -103,132 +279,242 @@ public class DatabaseManager {
         return false;
     }
 
-    public List<Player> getAllStoredPlayers() {
-        if (con == null) {
-            return null;
+    /**
+     * Writes all changed players in a single transaction. Each pair holds the stored player on the left and the
+     * updated player on the right; only columns that differ are written, grouped into one JDBC batch per column set.
+     *
+     * @return the number of players that were written
+     */
+    public int updatePlayers(List<Pair<Player, Player>> changes) {
+        if (dataSource == null || changes.isEmpty()) {
+            return 0;
         }
-        List<Player> players = new ArrayList<>();
-        try {
-            PreparedStatement stmt = con.prepareStatement(DBConstants.SELECT_PLAYER_STMT);
-            ResultSet rs = stmt.executeQuery();
-            while (rs != null && rs.next()) {
-                Player player = new Player();
-                player.setId(rs.getString("player_id"));
-                player.setName(rs.getString("player_name"));
-                player.setProfilePicture(rs.getString("player_avatar"));
-                player.setRank(rs.getInt("player_rank"));
-                player.setCountryRank(rs.getInt("player_country_rank"));
-                player.setPp(rs.getFloat("player_pp"));
-                player.setCountry(rs.getString("player_country"));
-                player.setDiscordUserId(rs.getLong("discord_user_id"));
-                player.setHistories(rs.getString("player_history"));
-                if (player.getHistories() != null) {
-                    player.setHistoryValues(Arrays.stream(player.getHistories().split(",")).map(Integer::parseInt).collect(Collectors.toList()));
+        Map<List<String>, List<Pair<String, List<Object>>>> updatesByColumns = new LinkedHashMap<>();
+        Map<String, Consumer<Player>> registryUpdates = new LinkedHashMap<>();
+        for (Pair<Player, Player> change : changes) {
+            Map<String, Object> changedColumns = getChangedColumns(change.getLeft(), change.getRight());
+            if (changedColumns.isEmpty()) {
+                continue;
+            }
+            Player updated = change.getRight();
+            registryUpdates.put(updated.getId(), current -> copyColumns(updated, current, changedColumns.keySet()));
+            List<String> columns = new ArrayList<>(changedColumns.keySet());
+            updatesByColumns.computeIfAbsent(columns, c -> new ArrayList<>())
+                    .add(Pair.of(change.getRight().getId(), new ArrayList<>(changedColumns.values())));
+        }
+        if (updatesByColumns.isEmpty()) {
+            return 0;
+        }
+
+        int written = 0;
+        try (Connection con = getConnection()) {
+            con.setAutoCommit(false);
+            try {
+                for (Map.Entry<List<String>, List<Pair<String, List<Object>>>> entry : updatesByColumns.entrySet()) {
+                    String sql = DBConstants.buildUpdateStatement("player", "player_id", entry.getKey().toArray(new String[0]));
+                    try (PreparedStatement stmt = con.prepareStatement(sql)) {
+                        int pending = 0;
+                        for (Pair<String, List<Object>> update : entry.getValue()) {
+                            List<Object> values = update.getRight();
+                            for (int i = 0; i < values.size(); i++) {
+                                stmt.setObject(i + 1, values.get(i));
+                            }
+                            stmt.setString(values.size() + 1, update.getLeft()); // Always last!
+                            stmt.addBatch();
+                            if (++pending == UPDATE_BATCH_SIZE) {
+                                stmt.executeBatch();
+                                pending = 0;
+                            }
+                        }
+                        if (pending > 0) {
+                            stmt.executeBatch();
+                        }
+                    }
+                    written += entry.getValue().size();
                 }
-                player.setCustomAccGridImage(rs.getString("user_customAccGridImage"));
-                players.add(player);
+                con.commit();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(true);
             }
+            // Only the written columns, the rest of the entry may have changed since the caller read it
+            registry.updateAll(registryUpdates);
         } catch (SQLException e) {
-            DiscordLogger.sendLogInChannel(ExceptionUtils.getStackTrace(e), DiscordLogger.DB);
+            DiscordLogger.sendLogInChannel("Batch update of " + changes.size() + " players failed:\n" + ExceptionUtils.getStackTrace(e), DiscordLogger.DB);
             e.printStackTrace();
+            return 0;
         }
-        return players;
+        return written;
     }
 
-    public Player getPlayerByName(String playerName) {
-        if (con == null) {
-            return null;
+    private Map<String, Object> getChangedColumns(Player stored, Player updated) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        if (!Objects.equals(stored.getName(), updated.getName())) {
+            columns.put("player_name", updated.getName());
         }
-        try {
-            PreparedStatement stmt = con.prepareStatement(DBConstants.SELECT_PLAYER_BY_NAME_STMT);
-            stmt.setString(1, playerName);
-
-            ResultSet rs = stmt.executeQuery();
-            if (rs != null && rs.next()) {
-                Player player = new Player();
-                player.setId(rs.getString("player_id"));
-                player.setName(rs.getString("player_name"));
-                player.setProfilePicture(rs.getString("player_avatar"));
-                player.setRank(rs.getInt("player_rank"));
-                player.setCountryRank(rs.getInt("player_country_rank"));
-                player.setPp(rs.getFloat("player_pp"));
-                player.setCountry(rs.getString("player_country"));
-                player.setDiscordUserId(rs.getLong("discord_user_id"));
-                player.setCustomAccGridImage(rs.getString("user_customAccGridImage"));
-                return player;
+        if (!Objects.equals(stored.getProfilePicture(), updated.getProfilePicture())) {
+            columns.put("player_avatar", updated.getProfilePicture());
+        }
+        if (stored.getRank() != updated.getRank()) {
+            columns.put("player_rank", updated.getRank());
+        }
+        if (stored.getCountryRank() != updated.getCountryRank()) {
+            columns.put("player_country_rank", updated.getCountryRank());
+        }
+        if (stored.getPp() != updated.getPp()) {
+            columns.put("player_pp", updated.getPp());
+        }
+        if (!Objects.equals(stored.getCountry(), updated.getCountry())) {
+            columns.put("player_country", updated.getCountry());
+        }
+        if (stored.getDiscordUserId() != updated.getDiscordUserId()) {
+            columns.put("discord_user_id", updated.getDiscordUserId());
+        }
+        if (!Arrays.equals(stored.getHistory(), updated.getHistory())) {
+            columns.put("player_history", updated.getHistories());
+            if (historyBlobColumn) {
+                columns.put("player_history_blob", updated.getHistoryBlob());
             }
-        } catch (SQLException e) {
-            DiscordLogger.sendLogInChannel(ExceptionUtils.getStackTrace(e), DiscordLogger.DB);
-            e.printStackTrace();
         }
-        return null;
+        if (!Objects.equals(stored.getCustomAccGridImage(), updated.getCustomAccGridImage())) {
+            columns.put("user_customAccGridImage", updated.getCustomAccGridImage());
+        }
+        return columns;
     }
 
-    public Player getPlayerByDiscordId(long discordUserId) {
-        if (con == null) {
-            return null;
-        }
-        try {
-            PreparedStatement stmt = con.prepareStatement(DBConstants.SELECT_PLAYER_BY_DISCORD_ID_STMT);
-            stmt.setLong(1, discordUserId);
-
-            ResultSet rs = stmt.executeQuery();
-            if (rs != null && rs.next()) {
-                Player player = new Player();
-                player.setId(rs.getString("player_id"));
-                player.setName(rs.getString("player_name"));
-                player.setProfilePicture(rs.getString("player_avatar"));
-                player.setRank(rs.getInt("player_rank"));
-                player.setCountryRank(rs.getInt("player_country_rank"));
-                player.setPp(rs.getFloat("player_pp"));
-                player.setCountry(rs.getString("player_country"));
-                player.setHistories(rs.getString("player_history"));
-                if (player.getHistories() != null) {
-                    player.setHistoryValues(Arrays.stream(player.getHistories().split(",")).map(Integer::parseInt).collect(Collectors.toList()));
-                }
-                player.setDiscordUserId(rs.getLong("discord_user_id"));
-                player.setCustomAccGridImage(rs.getString("user_customAccGridImage"));
-                return player;
+    private static void copyColumns(Player from, Player to, Set<String> columns) {
+        for (String column : columns) {
+            switch (column) {
+                case "player_name":
+                    to.setName(from.getName());
+                    break;
+                case "player_avatar":
+                    to.setProfilePicture(from.getProfilePicture());
+                    break;
+                case "player_rank":
+                    to.setRank(from.getRank());
+                    break;
+                case "player_country_rank":
+                    to.setCountryRank(from.getCountryRank());
+                    break;
+                case "player_pp":
+                    to.setPp(from.getPp());
+                    break;
+                case "player_country":
+                    to.setCountry(from.getCountry());
+                    break;
+                case "discord_user_id":
+                    to.setDiscordUserId(from.getDiscordUserId());
+                    break;
+                case "player_history":
+                    to.setHistories(from.getHistories());
+                    break;
+                case "user_customAccGridImage":
+                    to.setCustomAccGridImage(from.getCustomAccGridImage());
+                    break;
+                default:
+                    // player_history_blob follows player_history
             }
-        } catch (SQLException e) {
-            DiscordLogger.sendLogInChannel(ExceptionUtils.getStackTrace(e), DiscordLogger.DB);
-            e.printStackTrace();
         }
-        return null;
+    }
+
+    public List<Player> getAllStoredPlayers() {
+        return loadRegistry() ? registry.getAll() : null;
+    }
+
+    public Player getPlayerByName(String playerName) {
+        return loadRegistry() ? registry.getByName(playerName) : null;
+    }
+
+    public Player getPlayerByDiscordId(long discordUserId) {
+        return loadRegistry() ? registry.getByDiscordId(discordUserId) : null;
     }
 
     public long getDiscordIdByPlayerId(String playerId) {
-        try {
-            PreparedStatement stmt = con.prepareStatement(DBConstants.SELECT_DISCORD_ID_BY_PLAYER_ID_STMT);
-            stmt.setString(1, playerId);
+        Player player = loadRegistry() ? registry.getByPlayerId(playerId) : null;
+        return player == null ? -1 : player.getDiscordUserId();
+    }
 
-            ResultSet rs = stmt.executeQuery();
-            if (rs != null && rs.next()) {
-                return rs.getLong("discord_user_id");
+    public static int getRegisteredPlayerCount() {
+        return registry.size();
+    }
+
+    private boolean loadRegistry() {
+        if (registry.isLoaded()) {
+            return true;
+        }
+        if (dataSource == null) {
+            return false;
+        }
+        synchronized (registry) {
+            if (registry.isLoaded()) {
+                return true;
+            }
+            List<Player> players = selectAllPlayers();
+            if (players == null) {
+                return false;
+            }
+            registry.load(players);
+            System.out.println("*** Loaded " + players.size() + " players into the registry");
+            return true;
+        }
+    }
+
+    private List<Player> selectAllPlayers() {
+        List<Player> players = new ArrayList<>();
+        try (Connection con = getConnection();
+             PreparedStatement stmt = con.prepareStatement(historyBlobColumn ? DBConstants.SELECT_PLAYER_STMT : DBConstants.SELECT_PLAYER_LEGACY_STMT);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                players.add(readPlayer(rs));
             }
         } catch (SQLException e) {
+            DiscordLogger.sendLogInChannel(ExceptionUtils.getStackTrace(e), DiscordLogger.DB);
             e.printStackTrace();
+            return null;
         }
-        return -1;
+        return players;
+    }
+
+    private Player readPlayer(ResultSet rs) throws SQLException {
+        Player player = new Player();
+        player.setId(rs.getString("player_id"));
+        player.setName(rs.getString("player_name"));
+        player.setProfilePicture(rs.getString("player_avatar"));
+        player.setRank(rs.getInt("player_rank"));
+        player.setCountryRank(rs.getInt("player_country_rank"));
+        player.setPp(rs.getFloat("player_pp"));
+        player.setCountry(rs.getString("player_country"));
+        byte[] historyBlob = historyBlobColumn ? rs.getBytes("player_history_blob") : null;
+        if (historyBlob != null) {
+            player.setHistoryBlob(historyBlob);
+        } else {
+            player.setHistories(rs.getString("player_history"));
+        }
+        player.setDiscordUserId(rs.getLong("discord_user_id"));
+        player.setCustomAccGridImage(rs.getString("user_customAccGridImage"));
+        return player;
     }
 
     public PlayerSkills getPlayerSkillsByDiscordId(long discordId) {
-        if (con == null) {
+        if (dataSource == null) {
             return null;
         }
-        try {
-            PreparedStatement stmt = con.prepareStatement(DBConstants.SELECT_SKILLS_BY_DISCORD_ID);
+        try (Connection con = getConnection();
+             PreparedStatement stmt = con.prepareStatement(DBConstants.SELECT_SKILLS_BY_DISCORD_ID)) {
             stmt.setLong(1, discordId);
-
-            ResultSet rs = stmt.executeQuery();
-            if (rs != null && rs.next()) {
-                PlayerSkills skills = new PlayerSkills();
-                skills.setAccuracy(rs.getInt("accuracy"));
-                skills.setSpeed(rs.getInt("speed"));
-                skills.setStamina(rs.getInt("stamina"));
-                skills.setReading(rs.getInt("reading"));
-                skills.setPlayerName(rs.getString("player_name"));
-                return skills;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    PlayerSkills skills = new PlayerSkills();
+                    skills.setAccuracy(rs.getInt("accuracy"));
+                    skills.setSpeed(rs.getInt("speed"));
+                    skills.setStamina(rs.getInt("stamina"));
+                    skills.setReading(rs.getInt("reading"));
+                    skills.setPlayerName(rs.getString("player_name"));
+                    return skills;
+                }
             }
         } catch (SQLException e) {
             DiscordLogger.sendLogInChannel(ExceptionUtils.getStackTrace(e), DiscordLogger.DB);
@@ -238,27 +524,26 @@ public class DatabaseManager {
     }
 
     public int setSkill(long idLong, String skill, int newValue) {
-        if (con == null) {
-            return -1;
-        }
-        String stmtToUse;
-        PreparedStatement selectStmt;
-        try {
-            selectStmt = con.prepareStatement(DBConstants.SELECT_SKILLS_BY_DISCORD_ID);
-            selectStmt.setLong(1, idLong);
-            ResultSet rs = selectStmt.executeQuery();
-            stmtToUse = rs != null && rs.next() ? DBConstants.getUpdateSkillStatement(skill) : DBConstants.getInsertSkillStatement(skill);
-        } catch (SQLException e) {
+        if (dataSource == null) {
             return -1;
         }
-        try {
-            PreparedStatement stmt = con.prepareStatement(stmtToUse);
-            stmt.setInt(1, newValue);
-            stmt.setLong(2, idLong);
-            if (stmtToUse.equals(DBConstants.getInsertSkillStatement(skill))) {
-                stmt.setString(3, getPlayerByDiscordId(idLong).getName());
+        try (Connection con = getConnection()) {
+            boolean hasSkills;
+            try (PreparedStatement selectStmt = con.prepareStatement(DBConstants.SELECT_SKILLS_BY_DISCORD_ID)) {
+                selectStmt.setLong(1, idLong);
+                try (ResultSet rs = selectStmt.executeQuery()) {
+                    hasSkills = rs.next();
+                }
+            }
+            String stmtToUse = hasSkills ? DBConstants.getUpdateSkillStatement(skill) : DBConstants.getInsertSkillStatement(skill);
+            try (PreparedStatement stmt = con.prepareStatement(stmtToUse)) {
+                stmt.setInt(1, newValue);
+                stmt.setLong(2, idLong);
+                if (!hasSkills) {
+                    stmt.setString(3, getPlayerByDiscordId(idLong).getName());
+                }
+                return stmt.executeUpdate();
             }
-            return stmt.executeUpdate();
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -0,0 +1,120 @@
+package bot.db;
+
+import bot.dto.player.Player;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the player table. Reads are served lock-free from an immutable snapshot, writes from
+ * {@link DatabaseManager} replace the snapshot after the database accepted them. Players are copied on the way in
+ * and out, so callers can keep mutating the instances they hold.
+ */
+public class PlayerRegistry {
+
+    private volatile Snapshot snapshot;
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.byPlayerId.size();
+    }
+
+    public Player getByDiscordId(long discordUserId) {
+        return copyOf(snapshot.byDiscordId.get(discordUserId));
+    }
+
+    public Player getByPlayerId(String playerId) {
+        return copyOf(snapshot.byPlayerId.get(playerId));
+    }
+
+    public Player getByName(String playerName) {
+        return playerName == null ? null : copyOf(snapshot.byName.get(playerName.toLowerCase()));
+    }
+
+    public List<Player> getAll() {
+        return snapshot.byPlayerId.values().stream()
+                .map(Player::copy)
+                .collect(Collectors.toList());
+    }
+
+    synchronized void load(Collection<Player> players) {
+        snapshot = new Snapshot(players.stream().map(Player::copy).collect(Collectors.toList()));
+    }
+
+    synchronized void put(Player player) {
+        putAll(Collections.singletonList(player));
+    }
+
+    synchronized void putAll(Collection<Player> players) {
+        if (snapshot == null || players.isEmpty()) {
+            return;
+        }
+        Map<String, Player> updated = new LinkedHashMap<>(snapshot.byPlayerId);
+        for (Player player : players) {
+            updated.put(player.getId(), player.copy());
+        }
+        snapshot = new Snapshot(updated.values());
+    }
+
+    /**
+     * Applies each update to a copy of the current entry of its player id. Ids that are no longer registered are
+     * skipped, so a slow writer cannot bring back a removed player or revert fields it did not change.
+     */
+    synchronized void updateAll(Map<String, Consumer<Player>> updates) {
+        if (snapshot == null || updates.isEmpty()) {
+            return;
+        }
+        Map<String, Player> updated = new LinkedHashMap<>(snapshot.byPlayerId);
+        for (Map.Entry<String, Consumer<Player>> update : updates.entrySet()) {
+            Player current = updated.get(update.getKey());
+            if (current == null) {
+                continue;
+            }
+            Player player = current.copy();
+            update.getValue().accept(player);
+            updated.put(player.getId(), player);
+        }
+        snapshot = new Snapshot(updated.values());
+    }
+
+    synchronized void removeByDiscordId(long discordUserId) {
+        if (snapshot == null || !snapshot.byDiscordId.containsKey(discordUserId)) {
+            return;
+        }
+        snapshot = new Snapshot(snapshot.byPlayerId.values().stream()
+                .filter(player -> player.getDiscordUserId() != discordUserId)
+                .collect(Collectors.toList()));
+    }
+
+    private static Player copyOf(Player player) {
+        return player == null ? null : player.copy();
+    }
+
+    private static class Snapshot {
+        final ImmutableMap<String, Player> byPlayerId;
+        final ImmutableMap<Long, Player> byDiscordId;
+        final ImmutableMap<String, Player> byName;
+
+        Snapshot(Collection<Player> players) {
+            Map<String, Player> playerIds = new LinkedHashMap<>();
+            Map<Long, Player> discordIds = new HashMap<>();
+            Map<String, Player> names = new HashMap<>();
+            for (Player player : players) {
+                playerIds.put(player.getId(), player);
+                discordIds.putIfAbsent(player.getDiscordUserId(), player);
+                if (player.getName() != null) {
+                    names.putIfAbsent(player.getName().toLowerCase(), player);
+                }
+            }
+            this.byPlayerId = ImmutableMap.copyOf(playerIds);
+            this.byDiscordId = ImmutableMap.copyOf(discordIds);
+            this.byName = ImmutableMap.copyOf(names);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package bot.dto.player;
 
 import bot.api.ApiConstants;
+import bot.utils.HistoryCodec;
+import com.google.common.primitives.Ints;
 
 import java.io.Serializable;
 import java.util.List;
@@ -17,8 +19,9 @@ public class Player implements Serializable {
     private float pp;
     private String country;
     private long discordUserId;
-    private List<Integer> historyValues;
     private String histories;
+    private transient byte[] historyBlob;
+    private transient int[] history;
     private transient String customAccGridImage;
 
     public String getId() {
@@ -89,19 +92,48 @@ public class Player implements Serializable {
     }
 
     public String getHistories() {
+        if (histories == null && getHistory() != null) {
+            histories = HistoryCodec.format(history);
+        }
         return histories;
     }
 
     public void setHistories(String histories) {
         this.histories = histories;
+        this.historyBlob = null;
+        this.history = null;
     }
 
-    public List<Integer> getHistoryValues() {
-        return historyValues;
+    public byte[] getHistoryBlob() {
+        if (historyBlob == null && getHistory() != null) {
+            historyBlob = HistoryCodec.encode(history);
+        }
+        return historyBlob;
+    }
+
+    public void setHistoryBlob(byte[] historyBlob) {
+        this.historyBlob = historyBlob;
+        this.histories = null;
+        this.history = null;
+    }
+
+    /**
+     * Decoded lazily from the stored blob or the ScoreSaber string, whichever this player was loaded with.
+     */
+    public int[] getHistory() {
+        if (history == null) {
+            if (historyBlob != null) {
+                history = HistoryCodec.decode(historyBlob);
+            } else if (histories != null) {
+                history = HistoryCodec.parse(histories);
+            }
+        }
+        return history;
     }
 
-    public void setHistoryValues(List<Integer> historyValues) {
-        this.historyValues = historyValues;
+    public List<Integer> getHistoryValues() {
+        int[] values = getHistory();
+        return values == null ? null : Ints.asList(values);
     }
 
     public String getCustomAccGridImage() {
@@ -112,6 +144,23 @@ public class Player implements Serializable {
         this.customAccGridImage = customAccGridImage;
     }
 
+    public Player copy() {
+        Player copy = new Player();
+        copy.id = id;
+        copy.name = name;
+        copy.profilePicture = profilePicture;
+        copy.rank = rank;
+        copy.countryRank = countryRank;
+        copy.pp = pp;
+        copy.country = country;
+        copy.discordUserId = discordUserId;
+        copy.histories = histories;
+        copy.historyBlob = historyBlob;
+        copy.history = history;
+        copy.customAccGridImage = customAccGridImage;
+        return copy;
+    }
+
     public String getProfileURL() {
         return ApiConstants.USER_PRE_URL + this.id;
     }
@@ -0,0 +1,54 @@
+package bot.dto.rankedmaps;
+
+public class RankedMapEntry {
+
+    private static final String[] DIFFICULTY_NAMES = {null, "easy", null, "normal", null, "hard", null, "expert", null, "expertplus"};
+
+    private final BeatSaverRankedMap map;
+    private final VersionsItem version;
+    private final float[] starsByDifficulty;
+
+    public RankedMapEntry(BeatSaverRankedMap map, VersionsItem version, VersionsItem latestVersion) {
+        this.map = map;
+        this.version = version;
+        this.starsByDifficulty = new float[DIFFICULTY_NAMES.length];
+        for (int difficulty = 0; difficulty < DIFFICULTY_NAMES.length; difficulty++) {
+            String diffName = DIFFICULTY_NAMES[difficulty];
+            if (diffName == null) {
+                continue;
+            }
+            float stars = findStars(version, diffName);
+            if (stars <= 0 && latestVersion != version) {
+                stars = findStars(latestVersion, diffName);
+            }
+            starsByDifficulty[difficulty] = stars;
+        }
+    }
+
+    private static float findStars(VersionsItem version, String diffName) {
+        if (version == null || version.getDiffs() == null) {
+            return -1;
+        }
+        for (DiffsItem diff : version.getDiffs()) {
+            if (diffName.equalsIgnoreCase(diff.getDifficulty())) {
+                return (float) diff.getStars();
+            }
+        }
+        return -1;
+    }
+
+    public BeatSaverRankedMap getMap() {
+        return map;
+    }
+
+    public VersionsItem getVersion() {
+        return version;
+    }
+
+    public float getStars(int difficulty) {
+        if (difficulty < 0 || difficulty >= starsByDifficulty.length || DIFFICULTY_NAMES[difficulty] == null) {
+            return 0;
+        }
+        return starsByDifficulty[difficulty];
+    }
+}
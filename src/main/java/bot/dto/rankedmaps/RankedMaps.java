@@ -1,15 +1,74 @@
 package bot.dto.rankedmaps;
 
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 public class RankedMaps {
-    private List<BeatSaverRankedMap> maps;
+
+    private volatile Snapshot snapshot = new Snapshot(null, ImmutableMap.of());
 
     public List<BeatSaverRankedMap> getRankedMaps() {
-        return maps;
+        return snapshot.maps;
     }
 
     public void setRankedMaps(List<BeatSaverRankedMap> maps) {
-        this.maps = maps;
+        this.snapshot = new Snapshot(maps == null ? null : Collections.unmodifiableList(maps), buildIndex(maps));
+    }
+
+    public RankedMapEntry findByHash(String hash) {
+        if (hash == null) {
+            return null;
+        }
+        Map<String, RankedMapEntry> index = snapshot.index;
+        RankedMapEntry entry = index.get(hash);
+        if (entry == null && !index.isEmpty()) {
+            // Index holds lower and upper case keys, only mixed case input needs normalizing
+            entry = index.get(hash.toLowerCase(Locale.ROOT));
+        }
+        return entry;
+    }
+
+    public int size() {
+        List<BeatSaverRankedMap> maps = snapshot.maps;
+        return maps == null ? 0 : maps.size();
+    }
+
+    private static Map<String, RankedMapEntry> buildIndex(List<BeatSaverRankedMap> maps) {
+        if (maps == null) {
+            return ImmutableMap.of();
+        }
+        Map<String, RankedMapEntry> index = new HashMap<>(maps.size() * 4);
+        for (BeatSaverRankedMap map : maps) {
+            if (map == null || map.getVersions() == null) {
+                continue;
+            }
+            VersionsItem latestVersion = map.getLatestVersion();
+            for (VersionsItem version : map.getVersions()) {
+                if (version == null || version.getHash() == null) {
+                    continue;
+                }
+                RankedMapEntry entry = new RankedMapEntry(map, version, latestVersion);
+                String lowerHash = version.getHash().toLowerCase(Locale.ROOT);
+                // Newer pages come first, keep the first occurrence of a hash
+                index.putIfAbsent(lowerHash, entry);
+                index.putIfAbsent(lowerHash.toUpperCase(Locale.ROOT), entry);
+            }
+        }
+        return ImmutableMap.copyOf(index);
+    }
+
+    private static final class Snapshot {
+        private final List<BeatSaverRankedMap> maps;
+        private final Map<String, RankedMapEntry> index;
+
+        private Snapshot(List<BeatSaverRankedMap> maps, Map<String, RankedMapEntry> index) {
+            this.maps = maps;
+            this.index = index;
+        }
     }
 }
@@ -1,97 +1,81 @@
 package bot.graphics;
 
-import bot.api.HttpMethods;
+import bot.api.ImageFetchService;
+import bot.utils.FontUtils;
 import bot.utils.Format;
-import bot.utils.JavaFXUtils;
-import javafx.application.Application;
+import bot.utils.GraphicsUtils;
 import javafx.embed.swing.SwingFXUtils;
-import javafx.scene.SnapshotParameters;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
 import javafx.scene.effect.ColorAdjust;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.image.ImageView;
-import javafx.scene.image.PixelReader;
-import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.Paint;
-import javafx.scene.text.Font;
 import javafx.scene.text.Text;
-import javafx.stage.Stage;
 
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 
-public class AccuracyGrid extends Application {
-
-    public static List<Float> accuracyValues = new ArrayList<>();
-    private static List<Integer> notesCounts = new ArrayList<>();
-    private static String playerId = "";
-    private static String messageId = "";
-    private static String customImageUrl = "";
-    private static String filePath = "";
-    private static boolean isFinished = false;
-
-    final ImageView grid = new ImageView("https://i.imgur.com/8Y3FNri.png"); // Grid Image
-
-    public static void setAccuracyValues(List<Float> accuracyValuesIn) {
-        accuracyValues = accuracyValuesIn;
-    }
-
-    public static List<Integer> getNotesCounts() {
-        return notesCounts;
-    }
-
-    public static void setNotesCounts(List<Integer> notesCountsIn) {
-        notesCounts = notesCountsIn;
-    }
-
-    public static String getPlayerId() {
-        return playerId;
+public class AccuracyGrid implements Java2DRenderJob {
+
+    private static final int TEMPLATE_VERSION = 1;
+
+    // Layout shared by both backends
+    private static final double ACC_SIZE = 35;
+    private static final double COUNT_SIZE = 26;
+    private static final int COUNT_X = 15;
+    private static final int COUNT_Y = 45;
+    private static final double ACC_SHADOW_RADIUS = 30;
+    private static final double ACC_SHADOW_SPREAD = 0.85;
+    private static final double COUNT_SHADOW_RADIUS = 15;
+    private static final double COUNT_SHADOW_SPREAD = 0.8;
+    private static final double CUSTOM_IMAGE_OPACITY = 0.5;
+    private static final double CUSTOM_IMAGE_BRIGHTNESS = -0.5;
+
+    private final List<Float> accuracyValues;
+    private final List<Integer> notesCounts;
+    private final String customImageUrl;
+
+    public AccuracyGrid(List<Float> accuracyValues, List<Integer> notesCounts, String customImageUrl) {
+        this.accuracyValues = Collections.unmodifiableList(new ArrayList<>(accuracyValues));
+        this.notesCounts = Collections.unmodifiableList(new ArrayList<>(notesCounts));
+        this.customImageUrl = customImageUrl;
     }
 
-    public static void setPlayerId(String playerIdIn) {
-        playerId = playerIdIn;
-    }
-
-    public static String getMessageId() {
-        return messageId;
-    }
-
-    public static void setMessageId(String messageId) {
-        AccuracyGrid.messageId = messageId;
-    }
-
-    public static String getCustomImageUrl() {
-        return customImageUrl;
+    @Override
+    public String getName() {
+        return "accGrid";
     }
 
-    public static void setCustomImageUrl(String customImageUrl) {
-        AccuracyGrid.customImageUrl = customImageUrl;
+    @Override
+    public String getCacheKey() {
+        return RenderCache.key(getName(), TEMPLATE_VERSION, accuracyValues, notesCounts, customImageUrl);
     }
 
-    public static boolean isFinished() {
-        return isFinished;
+    @Override
+    public Rectangle2D getViewport() {
+        return new Rectangle2D(0, 0, GraphicsConstants.accGridWidth, GraphicsConstants.accGridHeight);
     }
 
-    public static void setFilePath(String filePath) { AccuracyGrid.filePath = filePath; }
-
-    public static String getFilePath() { return filePath; }
     @Override
-    public void start(Stage primaryStage) throws Exception {
-        isFinished = false;
+    public Node createNode() throws Exception {
+        final ImageView grid = new ImageView(RenderAssets.image(RenderAssets.BaseImage.ACC_GRID)); // Grid Image
 
         Pane root = new Pane();
         root.getChildren().add(grid);
 
-        boolean hasCustomImage = getCustomImageUrl() != null && !getCustomImageUrl().isEmpty();
+        boolean hasCustomImage = customImageUrl != null && !customImageUrl.isEmpty();
         if (hasCustomImage) {
             ImageView background = new ImageView(); // Custom Image
-            BufferedImage image = HttpMethods.getBufferedImagefromUrl(customImageUrl);
+            BufferedImage image = loadCustomImage();
             background.setImage(SwingFXUtils.toFXImage(image, null));
-            background.setOpacity(0.5);
+            background.setOpacity(CUSTOM_IMAGE_OPACITY);
             background.setPreserveRatio(true);
 
             double bgHeight = image.getHeight();
@@ -103,20 +87,20 @@ public class AccuracyGrid extends Application {
             }
 
             ColorAdjust colorAdjust = new ColorAdjust();
-            colorAdjust.setBrightness(-0.5);
+            colorAdjust.setBrightness(CUSTOM_IMAGE_BRIGHTNESS);
             background.setEffect(colorAdjust);
 
             root.getChildren().add(background);
         }
         DropShadow accShadow = new DropShadow();
         accShadow.setColor(Color.WHITE);
-        accShadow.setSpread(0.85);
-        accShadow.setRadius(30);
+        accShadow.setSpread(ACC_SHADOW_SPREAD);
+        accShadow.setRadius(ACC_SHADOW_RADIUS);
 
         DropShadow countShadow = new DropShadow();
         countShadow.setColor(Color.WHITE);
-        countShadow.setSpread(0.8);
-        countShadow.setRadius(15);
+        countShadow.setSpread(COUNT_SHADOW_SPREAD);
+        countShadow.setRadius(COUNT_SHADOW_RADIUS);
 
         for (int i = 0; i < 3; i++) {
             for (int j = 0; j < 4; j++) {
@@ -124,12 +108,12 @@ public class AccuracyGrid extends Application {
                 String accuracy = "NaN".equals(String.valueOf(accValue)) ? "  /" : Format.decimal(accValue);
                 String noteCount = String.valueOf(notesCounts.get(i * 4 + j));
 
-                Text accText = new Text(j * GraphicsConstants.accGridXOffset + GraphicsConstants.accGridXStartOffset, (2 - i) * GraphicsConstants.accGridYOffset + GraphicsConstants.accGridYStartOffset, accuracy);
-                accText.setFont(Font.loadFont(Objects.requireNonNull(getClass().getClassLoader().getResource("Consolas.ttf")).openStream(), 35));
+                Text accText = new Text(accX(j), accY(i), accuracy);
+                accText.setFont(FontUtils.consolas(ACC_SIZE));
                 accText.setFill(Color.WHITE);
 
-                Text countText = new Text(j * GraphicsConstants.accGridXOffset + 15, (2 - i) * GraphicsConstants.accGridYOffset + 45, noteCount);
-                countText.setFont(Font.loadFont(Objects.requireNonNull(Objects.requireNonNull(getClass().getClassLoader().getResource("Consolas.ttf"))).openStream(), 26));
+                Text countText = new Text(countX(j), countY(i), noteCount);
+                countText.setFont(FontUtils.consolas(COUNT_SIZE));
 
                 if (hasCustomImage) {
                     accText.setEffect(accShadow);
@@ -140,20 +124,77 @@ public class AccuracyGrid extends Application {
             }
         }
 
-        final SnapshotParameters snapPara = new SnapshotParameters();
-        snapPara.setFill(Color.TRANSPARENT);
-        WritableImage resultImage = root.snapshot(snapPara, null);
+        return root;
+    }
 
-        // Cut to size
-        PixelReader reader = resultImage.getPixelReader();
-        resultImage = new WritableImage(reader, 0, 0, GraphicsConstants.accGridWidth, GraphicsConstants.accGridHeight);
+    @Override
+    public BufferedImage renderImage() throws Exception {
+        BufferedImage gridImage = RenderAssets.bufferedImage(RenderAssets.BaseImage.ACC_GRID);
+        BufferedImage canvas = new BufferedImage(GraphicsConstants.accGridWidth, GraphicsConstants.accGridHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = GraphicsUtils.createGraphics(canvas);
+        g.drawImage(gridImage, 0, 0, null);
+
+        boolean hasCustomImage = customImageUrl != null && !customImageUrl.isEmpty();
+        if (hasCustomImage) {
+            BufferedImage image = loadCustomImage();
+            // The brightness of the FX ColorAdjust folded into a black overlay of the same opacity
+            Composite composite = g.getComposite();
+            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) CUSTOM_IMAGE_OPACITY));
+            java.awt.geom.Rectangle2D bounds = image.getHeight() >= image.getWidth()
+                    ? GraphicsUtils.drawImageFitWidth(g, image, 0, 0, GraphicsConstants.recentSongsWidth)
+                    : GraphicsUtils.drawImageFitHeight(g, image, 0, 0, GraphicsConstants.recentSongsHeight);
+            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) (CUSTOM_IMAGE_OPACITY * -CUSTOM_IMAGE_BRIGHTNESS)));
+            g.setColor(java.awt.Color.BLACK);
+            g.fill(bounds);
+            g.setComposite(composite);
+        }
+
+        java.awt.Color white = java.awt.Color.WHITE;
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 4; j++) {
+                float accValue = accuracyValues.get(i * 4 + j);
+                String accuracy = "NaN".equals(String.valueOf(accValue)) ? "  /" : Format.decimal(accValue);
+                String noteCount = String.valueOf(notesCounts.get(i * 4 + j));
+
+                java.awt.Color accColor = GraphicsUtils.toAwtColor(getAccTextColor(accValue));
+                java.awt.Font accFont = RenderAssets.awtFont(RenderAssets.FontFace.CONSOLAS, ACC_SIZE);
+                java.awt.Font countFont = RenderAssets.awtFont(RenderAssets.FontFace.CONSOLAS, COUNT_SIZE);
+
+                if (hasCustomImage) {
+                    GraphicsUtils.drawText(g, accuracy, accFont, accX(j), accY(i), accColor, white, ACC_SHADOW_RADIUS, ACC_SHADOW_SPREAD);
+                    GraphicsUtils.drawText(g, noteCount, countFont, countX(j), countY(i), java.awt.Color.BLACK, white, COUNT_SHADOW_RADIUS, COUNT_SHADOW_SPREAD);
+                } else {
+                    GraphicsUtils.drawText(g, accuracy, accFont, accX(j), accY(i), accColor, null, 0, 0);
+                    GraphicsUtils.drawText(g, noteCount, countFont, countX(j), countY(i), java.awt.Color.BLACK, null, 0, 0);
+                }
+            }
+        }
+        g.dispose();
+        return canvas;
+    }
+
+    // Rows are drawn bottom up, column j and row i of the 4x3 grid
+    private static double accX(int j) {
+        return j * GraphicsConstants.accGridXOffset + GraphicsConstants.accGridXStartOffset;
+    }
+
+    private static double accY(int i) {
+        return (2 - i) * GraphicsConstants.accGridYOffset + GraphicsConstants.accGridYStartOffset;
+    }
+
+    private static double countX(int j) {
+        return j * GraphicsConstants.accGridXOffset + COUNT_X;
+    }
+
+    private static double countY(int i) {
+        return (2 - i) * GraphicsConstants.accGridYOffset + COUNT_Y;
+    }
 
-        JavaFXUtils.saveFile(resultImage, new File(getFilePath()));
-        isFinished = true;
-        primaryStage.close();
+    private BufferedImage loadCustomImage() throws Exception {
+        return ImageFetchService.getInstance().get(customImageUrl);
     }
 
-    private Paint getAccTextColor(float accuracy) {
+    private Color getAccTextColor(float accuracy) {
         if ("NaN".equals(String.valueOf(accuracy))) {
             return Color.BLACK;
         } else if (accuracy >= 113) {
@@ -0,0 +1,105 @@
+package bot.graphics;
+
+import bot.api.ImageFetchService;
+import bot.main.BotConstants;
+import bot.utils.DiskLruIndex;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cover art scaled to the sizes the templates draw, stored as PNG tiles under resources/covers. Covers never change
+ * for a map version hash, so tiles are keyed by hash and height and only created on first use. The directory is
+ * bounded by env cover_store_mb (default 256); the least recently used tiles are deleted first, and the file
+ * modification time carries that order over restarts.
+ */
+public class CoverThumbnailStore {
+
+    private static final CoverThumbnailStore instance = new CoverThumbnailStore(
+            Paths.get(BotConstants.RESOURCES_PATH + "covers"),
+            NumberUtils.toLong(System.getenv("cover_store_mb"), 256) * 1024 * 1024);
+
+    private final DiskLruIndex index;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CoverThumbnailStore(Path directory, long maxBytes) {
+        this.index = new DiskLruIndex(directory, ".png", maxBytes);
+    }
+
+    public static CoverThumbnailStore getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return the cover of the map version scaled to the given height, downloaded from coverUrl if no tile exists yet
+     */
+    public CompletableFuture<BufferedImage> getCover(String hash, String coverUrl, int height) {
+        Path tile = index.getDirectory().resolve(hash.toLowerCase() + "_" + height + ".png");
+        BufferedImage stored = read(tile);
+        if (stored != null) {
+            hits.incrementAndGet();
+            return CompletableFuture.completedFuture(stored);
+        }
+        misses.incrementAndGet();
+        return ImageFetchService.getInstance().fetch(coverUrl).thenApply(cover -> {
+            if (cover == null) {
+                return null;
+            }
+            BufferedImage scaled = scaleToHeight(cover, height);
+            write(tile, scaled);
+            return scaled;
+        });
+    }
+
+    public String getStatsSummary() {
+        return "Tiles: " + index.getStatsSummary()
+                + "   Hits: " + hits.get()
+                + "   Misses: " + misses.get();
+    }
+
+    private BufferedImage read(Path tile) {
+        if (!index.touch(tile)) {
+            return null;
+        }
+        try {
+            return ImageIO.read(tile.toFile());
+        } catch (IOException e) {
+            index.remove(tile);
+            return null;
+        }
+    }
+
+    private void write(Path tile, BufferedImage image) {
+        try {
+            Path tempPath = Files.createTempFile(index.getDirectory(), "cover", ".tmp");
+            ImageIO.write(image, "png", tempPath.toFile());
+            Files.move(tempPath, tile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            index.add(tile, Files.size(tile));
+        } catch (IOException e) {
+            System.out.println("Could not store cover tile " + tile + ": " + e.getMessage());
+        }
+    }
+
+    private static BufferedImage scaleToHeight(BufferedImage image, int height) {
+        int width = Math.max(1, (int) Math.round(image.getWidth() * (double) height / image.getHeight()));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(image, 0, 0, width, height, null);
+        g.dispose();
+        return scaled;
+    }
+}
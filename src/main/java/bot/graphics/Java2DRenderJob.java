@@ -0,0 +1,12 @@
+package bot.graphics;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * A {@link RenderJob} that can also draw itself with Java2D. These renders need neither the FX toolkit nor its single
+ * application thread, so {@link RenderService} can run them in parallel when the Java2D backend is selected.
+ */
+public interface Java2DRenderJob extends RenderJob {
+
+    BufferedImage renderImage() throws Exception;
+}
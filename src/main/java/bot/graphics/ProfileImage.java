@@ -1,63 +1,79 @@
 package bot.graphics;
 
 import bot.api.ApiConstants;
-import bot.api.HttpMethods;
+import bot.api.ImageFetchService;
 import bot.chart.PlayerChart;
 import bot.dto.player.Player;
-import bot.utils.JavaFXUtils;
+import bot.utils.GraphicsUtils;
 import bot.utils.WebUtils;
-import javafx.application.Application;
 import javafx.embed.swing.SwingFXUtils;
-import javafx.scene.SnapshotParameters;
+import javafx.scene.Node;
 import javafx.scene.image.ImageView;
-import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Pane;
-import javafx.scene.paint.Color;
-import javafx.stage.Stage;
 
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.IOException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
-public class ProfileImage extends Application {
-    public static Player player;
-    public static BufferedImage qrCodeImage;
-    public static boolean isFinished = false;
-    public static String filePath = "";
+public class ProfileImage implements Java2DRenderJob {
 
-    final ImageView baseImage = new ImageView("https://i.imgur.com/WTmCg3c.png"); // Background Image
+    // Layout shared by both backends
+    private static final int PLAYER_CHART_Y = GraphicsConstants.greyBorderWidth + 400;
+
+    private final Player player;
+    private final BufferedImage qrCodeImage;
+    private final BufferedImage playerPicture;
+    private volatile boolean degraded;
+
+    public ProfileImage(Player player, BufferedImage qrCodeImage) {
+        this(player, qrCodeImage, null);
+    }
+
+    /**
+     * @param playerPicture drawn instead of the player's ScoreSaber picture, or null to fetch that one
+     */
+    ProfileImage(Player player, BufferedImage qrCodeImage, BufferedImage playerPicture) {
+        this.player = player.copy();
+        this.qrCodeImage = qrCodeImage;
+        this.playerPicture = playerPicture;
+    }
+
+    @Override
+    public String getName() {
+        return "profile";
+    }
+
+    @Override
+    public boolean isDegraded() {
+        return degraded;
+    }
 
     @Override
-    public void start(Stage primaryStage) throws Exception {
+    public Node createNode() throws Exception {
+        final ImageView baseImage = new ImageView(RenderAssets.image(RenderAssets.BaseImage.PROFILE_BACKGROUND)); // Background Image
+
         Pane root = new Pane();
         root.getChildren().add(baseImage);
 
         //QR Code
-        root.getChildren().add(getPlayerQRCode());
+        root.getChildren().add(getPlayerQRCode(baseImage));
 
         //Player Picture
         root.getChildren().add(getPlayerPicture());
 
         //PlayerChart
-        root.getChildren().add(getPlayerChart());
+        root.getChildren().add(getPlayerChart(baseImage));
 
         //Info
 
         //Name
 
-        //Save
-        final SnapshotParameters snapPara = new SnapshotParameters();
-        snapPara.setFill(Color.TRANSPARENT);
-        WritableImage resultImage = root.snapshot(snapPara, null);
-
-        JavaFXUtils.saveFile(resultImage, new File(getFilePath()));
-        setFinished(true);
-        primaryStage.close();
+        return root;
     }
 
-    private ImageView getPlayerQRCode() {
+    private ImageView getPlayerQRCode(ImageView baseImage) {
         ImageView qrCodeView = new ImageView();
         qrCodeView.setImage(SwingFXUtils.toFXImage(qrCodeImage, null));
         qrCodeView.setPreserveRatio(true);
@@ -69,7 +85,7 @@ public class ProfileImage extends Application {
         return qrCodeView;
     }
 
-    private ImageView getPlayerChart() {
+    private ImageView getPlayerChart(ImageView baseImage) {
         BufferedImage chartImage = new PlayerChart().getPlayerChartImage(player);
         ImageView playerChartView = new ImageView();
         playerChartView.setImage(SwingFXUtils.toFXImage(chartImage, null));
@@ -78,23 +94,13 @@ public class ProfileImage extends Application {
 
         double playerChartXPos = baseImage.getImage().getWidth() - GraphicsConstants.playerChartWidth - GraphicsConstants.greyBorderWidth;
         playerChartView.setTranslateX(playerChartXPos);
-        playerChartView.setTranslateY(GraphicsConstants.greyBorderWidth + 400);
+        playerChartView.setTranslateY(PLAYER_CHART_Y);
         return playerChartView;
     }
 
     private ImageView getPlayerPicture() throws IOException, ExecutionException, InterruptedException, TimeoutException {
-        String playerPictureUrl = ApiConstants.SS_PRE_URL + player.getProfilePicture();
-        if (!WebUtils.isURL(playerPictureUrl)) {
-            playerPictureUrl = ApiConstants.NO_AVATAR_URL;
-        }
-        BufferedImage playerImage;
-        try {
-            playerImage = HttpMethods.getBufferedImagefromUrl(playerPictureUrl);
-        } catch (Exception e) {
-            playerImage = HttpMethods.getBufferedImagefromUrl(ApiConstants.NO_AVATAR_URL);
-        }
         ImageView playerPictureView = new ImageView();
-        playerPictureView.setImage(SwingFXUtils.toFXImage(playerImage, null));
+        playerPictureView.setImage(SwingFXUtils.toFXImage(loadPlayerPicture(), null));
         playerPictureView.setPreserveRatio(true);
 
         playerPictureView.setTranslateX(GraphicsConstants.greyBorderWidth);
@@ -103,35 +109,42 @@ public class ProfileImage extends Application {
         return playerPictureView;
     }
 
-    public static Player getPlayer() {
-        return player;
-    }
-
-    public static void setPlayer(Player player) {
-        ProfileImage.player = player;
-    }
-
-    public static BufferedImage getQrCode() {
-        return qrCodeImage;
-    }
+    @Override
+    public BufferedImage renderImage() throws Exception {
+        BufferedImage baseImage = RenderAssets.bufferedImage(RenderAssets.BaseImage.PROFILE_BACKGROUND);
+        BufferedImage canvas = new BufferedImage(baseImage.getWidth(), baseImage.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = GraphicsUtils.createGraphics(canvas);
+        g.drawImage(baseImage, 0, 0, null);
 
-    public static void setQrCode(BufferedImage qrCode) {
-        ProfileImage.qrCodeImage = qrCode;
-    }
+        //QR Code
+        g.drawImage(qrCodeImage, baseImage.getWidth() - qrCodeImage.getWidth() - GraphicsConstants.greyBorderWidth,
+                baseImage.getHeight() - qrCodeImage.getHeight() - GraphicsConstants.greyBorderWidth, null);
 
-    public static boolean isFinished() {
-        return isFinished;
-    }
+        //Player Picture
+        GraphicsUtils.drawImageFitHeight(g, loadPlayerPicture(), GraphicsConstants.greyBorderWidth, GraphicsConstants.greyBorderWidth, GraphicsConstants.playerPictureHeight);
 
-    public static void setFinished(boolean isFinished) {
-        ProfileImage.isFinished = isFinished;
-    }
+        //PlayerChart
+        BufferedImage chartImage = new PlayerChart().getPlayerChartImage(player);
+        GraphicsUtils.drawImageFitWidth(g, chartImage, baseImage.getWidth() - GraphicsConstants.playerChartWidth - GraphicsConstants.greyBorderWidth,
+                PLAYER_CHART_Y, GraphicsConstants.playerChartWidth);
 
-    public static String getFilePath() {
-        return filePath;
+        g.dispose();
+        return canvas;
     }
 
-    public static void setFilePath(String filePath) {
-        ProfileImage.filePath = filePath;
+    private BufferedImage loadPlayerPicture() throws IOException, ExecutionException, InterruptedException, TimeoutException {
+        if (playerPicture != null) {
+            return playerPicture;
+        }
+        String playerPictureUrl = ApiConstants.SS_PRE_URL + player.getProfilePicture();
+        if (!WebUtils.isURL(playerPictureUrl)) {
+            playerPictureUrl = ApiConstants.NO_AVATAR_URL;
+        }
+        try {
+            return ImageFetchService.getInstance().get(playerPictureUrl);
+        } catch (Exception e) {
+            degraded = true;
+            return ImageFetchService.getInstance().get(ApiConstants.NO_AVATAR_URL);
+        }
     }
 }
@@ -0,0 +1,199 @@
+package bot.graphics;
+
+import javafx.scene.image.Image;
+import javafx.scene.text.Font;
+import org.apache.commons.io.IOUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.FontFormatException;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process wide cache of everything the renderers draw with. Font files are read once and every (face, size) is parsed
+ * once; base images and sprites are decoded once from the classpath. {@link #warmUp()} loads what the Java2D renderers
+ * draw with at startup so renders do no network or font I/O; the FX fonts and images need a running toolkit and are
+ * loaded by {@link #warmUpFx()} once {@link RenderService} has started it.
+ */
+public class RenderAssets {
+
+    public enum FontFace {
+        CONSOLAS("Consolas.ttf"),
+        CONSOLAS_BOLD("ConsolasBold.ttf");
+
+        private final String resource;
+
+        FontFace(String resource) {
+            this.resource = resource;
+        }
+    }
+
+    public enum BaseImage {
+        // Copies of https://i.imgur.com/kvy9P2K.png, 8Y3FNri.png and WTmCg3c.png, which the renderers used to load
+        SONGS_BACKGROUND("assets/songs_background.png"),
+        ACC_GRID("assets/acc_grid.png"),
+        PROFILE_BACKGROUND("assets/profile_background.png"),
+        STAR("star.png");
+
+        private final String resource;
+
+        BaseImage(String resource) {
+            this.resource = resource;
+        }
+
+        String getResource() {
+            return resource;
+        }
+    }
+
+    private static final Map<FontFace, byte[]> fontFiles = new ConcurrentHashMap<>();
+    private static final Map<String, Font> fonts = new ConcurrentHashMap<>();
+    private static final Map<BaseImage, Image> images = new ConcurrentHashMap<>();
+    private static final Map<FontFace, java.awt.Font> awtBaseFonts = new ConcurrentHashMap<>();
+    private static final Map<String, java.awt.Font> awtFonts = new ConcurrentHashMap<>();
+    private static final Map<BaseImage, BufferedImage> bufferedImages = new ConcurrentHashMap<>();
+    private static final Map<BaseImage, String> missingImages = new ConcurrentHashMap<>();
+    private static final Map<BaseImage, String> missingBufferedImages = new ConcurrentHashMap<>();
+
+    public static void warmUp() {
+        long start = System.currentTimeMillis();
+        for (FontFace face : FontFace.values()) {
+            awtFont(face, 40);
+        }
+        for (BaseImage image : BaseImage.values()) {
+            try {
+                bufferedImage(image);
+            } catch (IllegalStateException e) {
+                System.out.println("!!! " + e.getMessage() + ", renders using it will fail.");
+            }
+        }
+        System.out.println("*** Render assets loaded in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    static void warmUpFx() {
+        long start = System.currentTimeMillis();
+        for (FontFace face : FontFace.values()) {
+            font(face, 40);
+        }
+        for (BaseImage image : BaseImage.values()) {
+            try {
+                image(image);
+            } catch (IllegalStateException e) {
+                System.out.println("!!! " + e.getMessage() + ", FX renders using it will fail.");
+            }
+        }
+        System.out.println("*** FX render assets loaded in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    public static Font font(FontFace face, double size) {
+        return fonts.computeIfAbsent(face.name() + "@" + size, key -> {
+            byte[] fontFile = fontFiles.computeIfAbsent(face, RenderAssets::readFontFile);
+            return Font.loadFont(new ByteArrayInputStream(fontFile), size);
+        });
+    }
+
+    public static java.awt.Font awtFont(FontFace face, double size) {
+        return awtFonts.computeIfAbsent(face.name() + "@" + size, key -> awtBaseFonts.computeIfAbsent(face, f -> {
+            try {
+                return java.awt.Font.createFont(java.awt.Font.TRUETYPE_FONT, new ByteArrayInputStream(fontFiles.computeIfAbsent(f, RenderAssets::readFontFile)));
+            } catch (FontFormatException | IOException e) {
+                throw new IllegalStateException("Could not parse font resource " + f.resource, e);
+            }
+        }).deriveFont((float) size));
+    }
+
+    /**
+     * Same as {@link #image(BaseImage)} for the Java2D renderers, decoded with ImageIO so it does not need the FX
+     * toolkit.
+     */
+    public static BufferedImage bufferedImage(BaseImage baseImage) {
+        BufferedImage bufferedImage = bufferedImages.get(baseImage);
+        if (bufferedImage == null) {
+            String missing = missingBufferedImages.get(baseImage);
+            if (missing != null) {
+                throw new IllegalStateException(missing);
+            }
+            try {
+                bufferedImage = loadBufferedImage(baseImage);
+            } catch (IllegalStateException e) {
+                missingBufferedImages.putIfAbsent(baseImage, e.getMessage());
+                throw e;
+            }
+            bufferedImages.putIfAbsent(baseImage, bufferedImage);
+        }
+        return bufferedImage;
+    }
+
+    /**
+     * @throws IllegalStateException if the image is not bundled or cannot be decoded; the failure is remembered, so
+     *                               the classpath is only searched once per image
+     */
+    public static Image image(BaseImage baseImage) {
+        Image image = images.get(baseImage);
+        if (image == null) {
+            String missing = missingImages.get(baseImage);
+            if (missing != null) {
+                throw new IllegalStateException(missing);
+            }
+            try {
+                image = loadImage(baseImage);
+            } catch (IllegalStateException e) {
+                missingImages.putIfAbsent(baseImage, e.getMessage());
+                throw e;
+            }
+            images.putIfAbsent(baseImage, image);
+        }
+        return image;
+    }
+
+    private static byte[] readFontFile(FontFace face) {
+        try (InputStream in = RenderAssets.class.getClassLoader().getResourceAsStream(face.resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Font resource " + face.resource + " is missing");
+            }
+            return IOUtils.toByteArray(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read font resource " + face.resource, e);
+        }
+    }
+
+    private static Image loadImage(BaseImage baseImage) {
+        try (InputStream in = RenderAssets.class.getClassLoader().getResourceAsStream(baseImage.resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Render asset " + baseImage.resource + " is missing");
+            }
+            Image image = new Image(in);
+            if (image.isError()) {
+                throw new IllegalStateException("Could not decode render asset " + baseImage.resource);
+            }
+            return image;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read render asset " + baseImage.resource, e);
+        }
+    }
+
+    private static BufferedImage loadBufferedImage(BaseImage baseImage) {
+        try (InputStream in = RenderAssets.class.getClassLoader().getResourceAsStream(baseImage.resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Render asset " + baseImage.resource + " is missing");
+            }
+            BufferedImage decoded = ImageIO.read(in);
+            if (decoded == null) {
+                throw new IllegalStateException("Could not decode render asset " + baseImage.resource);
+            }
+            // Premultiplied ARGB is what Java2D composites fastest
+            BufferedImage image = new BufferedImage(decoded.getWidth(), decoded.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = image.createGraphics();
+            g.drawImage(decoded, 0, 0, null);
+            g.dispose();
+            return image;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read render asset " + baseImage.resource, e);
+        }
+    }
+}
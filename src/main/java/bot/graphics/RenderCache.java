@@ -0,0 +1,88 @@
+package bot.graphics;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rendered PNGs keyed by a digest of everything that ends up in the image. Bounded by the total size of the cached
+ * bytes (env render_cache_mb, default 64), least recently used entries are evicted first.
+ */
+public class RenderCache {
+
+    private static final long DEFAULT_MAX_MEGABYTES = 64;
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public RenderCache() {
+        this(NumberUtils.toLong(System.getenv("render_cache_mb"), DEFAULT_MAX_MEGABYTES) * 1024 * 1024);
+    }
+
+    public RenderCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Builds a cache key from the template name, its layout version and the inputs the layout reads. Bump the version
+     * whenever the layout changes, so stale images are never served.
+     */
+    public static String key(String template, int templateVersion, Object... inputs) {
+        Hasher hasher = Hashing.sha256().newHasher()
+                .putString(template, StandardCharsets.UTF_8)
+                .putInt(templateVersion);
+        for (Object input : inputs) {
+            hasher.putChar('\u001f').putString(String.valueOf(input), StandardCharsets.UTF_8);
+        }
+        return template + "-" + hasher.hash();
+    }
+
+    public synchronized byte[] get(String key) {
+        byte[] bytes = entries.get(key);
+        if (bytes == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return bytes;
+    }
+
+    public synchronized void put(String key, byte[] bytes) {
+        if (bytes.length > maxBytes) {
+            return;
+        }
+        byte[] previous = entries.put(key, bytes);
+        if (previous != null) {
+            currentBytes -= previous.length;
+        }
+        currentBytes += bytes.length;
+
+        Iterator<Map.Entry<String, byte[]>> eldest = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            currentBytes -= eldest.next().getValue().length;
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public synchronized String getStatsSummary() {
+        long hitCount = hits.get();
+        long lookups = hitCount + misses.get();
+        long hitRate = lookups == 0 ? 0 : Math.round(hitCount * 100.0 / lookups);
+        return "Entries: " + entries.size()
+                + "   Size: " + currentBytes / 1024 + "/" + maxBytes / 1024 + "KB"
+                + "   Hits: " + hitCount + "/" + lookups + " (" + hitRate + "%)"
+                + "   Evictions: " + evictions.get();
+    }
+}
@@ -0,0 +1,37 @@
+package bot.graphics;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+
+/**
+ * An immutable description of one image. {@link #createNode()} runs on a render worker, so it may download images
+ * and build the node tree; only the snapshot itself happens on the FX thread.
+ */
+public interface RenderJob {
+
+    String getName();
+
+    Node createNode() throws Exception;
+
+    /**
+     * @return the area of the node to capture, or null for its full bounds
+     */
+    default Rectangle2D getViewport() {
+        return null;
+    }
+
+    /**
+     * @return a {@link RenderCache#key} over every input of the image, or null if the image must not be cached
+     */
+    default String getCacheKey() {
+        return null;
+    }
+
+    /**
+     * Checked once the image is rendered. A degraded image, e.g. with a placeholder for an image that could not be
+     * fetched, is still delivered but not cached under {@link #getCacheKey()}.
+     */
+    default boolean isDegraded() {
+        return false;
+    }
+}
@@ -0,0 +1,256 @@
+package bot.graphics;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import javafx.application.Platform;
+import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renders {@link RenderJob}s into PNG bytes. Node creation and encoding run on a small worker pool, the snapshot is
+ * handed to the FX thread through {@link Platform#runLater}. Every render completes with its own result or fails
+ * after its timeout, so concurrent requests never see each other's images.
+ * <p>
+ * Jobs implementing {@link Java2DRenderJob} can instead be drawn headless on a pool sized to the available cores,
+ * which does not serialize on the FX thread. The backend is picked per job name via the env variable
+ * {@code render_backend_<name>}, falling back to {@code render_backend} ("fx" or "java2d", default "fx"). The FX toolkit
+ * is only started by the first job that resolves to the FX backend, so a headless host rendering everything with
+ * Java2D never loads it.
+ */
+public class RenderService {
+
+    private static final long DEFAULT_TIMEOUT_SECONDS = 30;
+    private static final RenderService instance = new RenderService();
+
+    private static boolean fxStarted;
+    private static String fxStartupFailure;
+
+    private final ExecutorService workers = Executors.newFixedThreadPool(2, new ThreadFactoryBuilder()
+            .setNameFormat("render-worker-%d")
+            .setDaemon(true)
+            .build());
+    private final ExecutorService java2dWorkers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactoryBuilder()
+            .setNameFormat("render-java2d-%d")
+            .setDaemon(true)
+            .build());
+    private final ScheduledExecutorService timeouts = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("render-timeout")
+            .setDaemon(true)
+            .build());
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong totalRenderNanos = new AtomicLong();
+    private final AtomicLong maxRenderNanos = new AtomicLong();
+    private final RenderCache cache = new RenderCache();
+    private final Map<Backend, BackendStats> backendStats = new EnumMap<>(Backend.class);
+
+    public enum Backend {
+        FX, JAVA2D
+    }
+
+    private RenderService() {
+        for (Backend backend : Backend.values()) {
+            backendStats.put(backend, new BackendStats());
+        }
+    }
+
+    public static RenderService getInstance() {
+        return instance;
+    }
+
+    public CompletableFuture<byte[]> render(RenderJob job) {
+        return render(job, DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public CompletableFuture<byte[]> render(RenderJob job, long timeout, TimeUnit unit) {
+        Backend backend = getBackend(job);
+        String cacheKey = job.getCacheKey() == null ? null : backend + ":" + job.getCacheKey();
+        if (cacheKey != null) {
+            byte[] cached = cache.get(cacheKey);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        if (backend == Backend.FX) {
+            try {
+                startFx();
+            } catch (IllegalStateException e) {
+                failed.incrementAndGet();
+                result.completeExceptionally(e);
+                return result;
+            }
+        }
+
+        CompletableFuture<byte[]> rendering;
+        if (backend == Backend.JAVA2D) {
+            rendering = CompletableFuture.supplyAsync(() -> encodePng(renderImage((Java2DRenderJob) job)), java2dWorkers);
+        } else {
+            rendering = CompletableFuture.supplyAsync(() -> createNode(job), workers)
+                    .thenCompose(node -> snapshot(node, job))
+                    .thenApplyAsync(image -> encodePng(image), workers);
+        }
+        rendering.whenComplete((bytes, error) -> {
+            if (error != null) {
+                if (result.completeExceptionally(error)) {
+                    failed.incrementAndGet();
+                }
+                return;
+            }
+            if (result.complete(bytes)) {
+                long took = System.nanoTime() - start;
+                completed.incrementAndGet();
+                totalRenderNanos.addAndGet(took);
+                maxRenderNanos.accumulateAndGet(took, Math::max);
+                backendStats.get(backend).record(took);
+                if (cacheKey != null && !job.isDegraded()) {
+                    cache.put(cacheKey, bytes);
+                }
+            }
+        });
+
+        ScheduledFuture<?> timeoutTask = timeouts.schedule(() -> {
+            if (result.completeExceptionally(new TimeoutException("Rendering " + job.getName() + " took longer than " + timeout + " " + unit))) {
+                timedOut.incrementAndGet();
+            }
+        }, timeout, unit);
+        result.whenComplete((bytes, error) -> timeoutTask.cancel(false));
+        return result;
+    }
+
+    public String getStatsSummary() {
+        long count = completed.get();
+        long averageMs = count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalRenderNanos.get() / count);
+        return "Completed: " + count
+                + "   Failed: " + failed.get()
+                + "   Timed out: " + timedOut.get()
+                + "   Avg: " + averageMs + "ms"
+                + "   Max: " + TimeUnit.NANOSECONDS.toMillis(maxRenderNanos.get()) + "ms"
+                + "   FX: " + backendStats.get(Backend.FX)
+                + "   Java2D: " + backendStats.get(Backend.JAVA2D);
+    }
+
+    public String getCacheStatsSummary() {
+        return cache.getStatsSummary();
+    }
+
+    /**
+     * Starts the FX toolkit and loads the FX assets, once per process.
+     *
+     * @throws IllegalStateException if the toolkit cannot be started, e.g. without a display or Monocle; the failure
+     *                               is remembered, so later FX jobs fail right away
+     */
+    static synchronized void startFx() {
+        if (fxStarted) {
+            return;
+        }
+        if (fxStartupFailure != null) {
+            throw new IllegalStateException(fxStartupFailure);
+        }
+        try {
+            Platform.setImplicitExit(false);
+            try {
+                Platform.startup(() -> {
+                });
+            } catch (IllegalStateException e) {
+                // Toolkit is already running
+            }
+        } catch (Throwable t) {
+            fxStartupFailure = "Could not start the FX toolkit: " + t;
+            throw new IllegalStateException(fxStartupFailure, t);
+        }
+        fxStarted = true;
+        RenderAssets.warmUpFx();
+    }
+
+    static Backend getBackend(RenderJob job) {
+        String configured = System.getenv("render_backend_" + job.getName());
+        if (configured == null) {
+            configured = System.getenv("render_backend");
+        }
+        if ("java2d".equalsIgnoreCase(configured) && job instanceof Java2DRenderJob) {
+            return Backend.JAVA2D;
+        }
+        return Backend.FX;
+    }
+
+    private static BufferedImage renderImage(Java2DRenderJob job) {
+        try {
+            return job.renderImage();
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static Node createNode(RenderJob job) {
+        try {
+            return job.createNode();
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    static CompletableFuture<WritableImage> snapshot(Node node, RenderJob job) {
+        CompletableFuture<WritableImage> snapshot = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                SnapshotParameters parameters = new SnapshotParameters();
+                parameters.setFill(Color.TRANSPARENT);
+                parameters.setViewport(job.getViewport());
+                snapshot.complete(node.snapshot(parameters, null));
+            } catch (Throwable t) {
+                snapshot.completeExceptionally(t);
+            }
+        });
+        return snapshot;
+    }
+
+    private static byte[] encodePng(WritableImage image) {
+        return encodePng(SwingFXUtils.fromFXImage(image, null));
+    }
+
+    private static byte[] encodePng(BufferedImage image) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static class BackendStats {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        @Override
+        public String toString() {
+            long renders = count.get();
+            long averageMs = renders == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.get() / renders);
+            return renders + " (avg " + averageMs + "ms, max " + TimeUnit.NANOSECONDS.toMillis(maxNanos.get()) + "ms)";
+        }
+    }
+}
@@ -1,53 +1,117 @@
 package bot.graphics;
 
 import bot.api.ApiConstants;
-import bot.api.HttpMethods;
+import bot.api.ImageFetchService;
 import bot.dto.scoresaber.PlayerScore;
+import bot.dto.scoresaber.Score;
 import bot.utils.FontUtils;
 import bot.utils.Format;
-import bot.utils.JavaFXUtils;
+import bot.utils.GraphicsUtils;
 import bot.utils.WebUtils;
-import javafx.application.Application;
 import javafx.embed.swing.SwingFXUtils;
-import javafx.scene.SnapshotParameters;
+import javafx.scene.Node;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.effect.Glow;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.StrokeType;
 import javafx.scene.text.Text;
-import javafx.stage.Stage;
 
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
-import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+public class SongsImage implements Java2DRenderJob {
+
+    private static final int TEMPLATE_VERSION = 1;
+    static final int COVER_SIZE = 234;
+    private static final double TEXT_SHADOW_RADIUS = 40;
+    private static final double TEXT_SHADOW_SPREAD = 0.4;
+
+    // Layout shared by both backends, rows are ITEM_HEIGHT apart
+    private static final int ITEM_HEIGHT = 275;
+    private static final int COVER_X = 10;
+    private static final int COVER_Y = 10;
+    private static final int TEXT_X = 265;
+    private static final int TEXT_Y = 65;
+    private static final int STAR_X = 275;
+    private static final double STAR_SCALE = 0.2;
+    private static final int LEADERBOARD_X = 25;
+    private static final int LONG_TITLE_LENGTH = 26;
+    private static final int SHRINK_TITLE_LENGTH = 36;
+    private static final double AUTHOR_SIZE = 40;
+    private static final double DIFF_SIZE = 60;
+    private static final double STARS_SIZE = 50;
+    private static final double PP_SIZE = 58;
+    private static final double PP_WEIGHT_SIZE = 45;
+    private static final Color PP_COLOR = Color.rgb(66, 245, 108);
+    private static final Color PP_WEIGHT_COLOR = Color.rgb(24, 161, 56);
+
+    private final List<PlayerScore> scores;
+    private final CoverThumbnailStore coverStore;
+    private volatile boolean degraded;
+
+    public SongsImage(List<PlayerScore> scores) {
+        this(scores, CoverThumbnailStore.getInstance());
+    }
+
+    SongsImage(List<PlayerScore> scores, CoverThumbnailStore coverStore) {
+        this.scores = Collections.unmodifiableList(new ArrayList<>(scores));
+        this.coverStore = coverStore;
+    }
 
-public class SongsImage extends Application {
+    @Override
+    public String getName() {
+        return "songs";
+    }
+
+    @Override
+    public String getCacheKey() {
+        List<Object> inputs = new ArrayList<>();
+        for (PlayerScore score : scores) {
+            Score s = score.getScore();
+            inputs.add(s.getId());
+            inputs.add(s.getTimeSet());
+            inputs.add(s.getRank());
+            inputs.add(s.getPp());
+            inputs.add(s.getWeight());
+            inputs.add(score.getSongStars());
+            inputs.add(score.getAccuracyString());
+            inputs.add(score.getRelativeTimeString());
+            inputs.add(score.getCoverURL());
+            inputs.add(score.getLeaderboard().getId());
+        }
+        return RenderCache.key(getName(), TEMPLATE_VERSION, inputs.toArray());
+    }
 
-    private static boolean isFinished = false;
-    private static List<PlayerScore> scores;
-    private static String filePath;
-    final ImageView baseImage = new ImageView("https://i.imgur.com/kvy9P2K.png"); // Rectangle Image
-    final Image starImage = new Image(Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream("star.png")));
+    @Override
+    public boolean isDegraded() {
+        return degraded;
+    }
 
     @Override
-    public void start(Stage primaryStage) throws Exception {
-        setFinished(false);
+    public Node createNode() throws Exception {
+        final ImageView baseImage = new ImageView(RenderAssets.image(RenderAssets.BaseImage.SONGS_BACKGROUND)); // Rectangle Image
+        final Image starImage = RenderAssets.image(RenderAssets.BaseImage.STAR);
+        List<CompletableFuture<BufferedImage>> covers = fetchCovers();
 
         Pane root = new Pane();
         root.getChildren().add(baseImage);
 
         DropShadow textShadow = new DropShadow();
         textShadow.setColor(Color.BLACK);
-        textShadow.setSpread(0.4);
-        textShadow.setRadius(40);
+        textShadow.setSpread(TEXT_SHADOW_SPREAD);
+        textShadow.setRadius(TEXT_SHADOW_RADIUS);
 
         for (int i = 0; i < scores.size(); i++) {
             PlayerScore score = scores.get(i);
+            RowLayout row = new RowLayout(i, score);
             String songName = score.getLeaderboard().getSongName();
             String author = score.getLeaderboard().getLevelAuthorName();
             int rank = score.getScore().getRank();
@@ -56,31 +120,17 @@ public class SongsImage extends Application {
             String ppWeight = score.getWeightPpString();
             String diff = score.getLeaderboard().getDifficulty().getDifficultyName();
             String acc = score.getAccuracyString();
-            float stars = score.getSongStars();
             String relativeTime = score.getRelativeTimeString();
-            boolean isRanked = score.getScore().getPp() > 0;
-            int rankOnPlayerLeaderboard = isRanked && score.getScore().getWeight() > 0 ? Format.roundDouble((Math.log10(score.getScore().getWeight()) + Math.log10(0.965)) / Math.log10(0.965)) : -1;
-            Color playerRankShadowColor = FontUtils.getRankColor(rankOnPlayerLeaderboard, Color.WHITE);
+            Color playerRankShadowColor = FontUtils.getRankColor(row.rankOnPlayerLeaderboard, Color.WHITE);
 
             // Cover Image
             ImageView cover = new ImageView(); // Custom Image
-            String coverUrl = WebUtils.isURL(score.getCoverURL()) ? score.getCoverURL() : ApiConstants.NO_AVATAR_URL;
-            BufferedImage coverImage;
-            try {
-                coverImage = HttpMethods.getBufferedImagefromUrl(coverUrl);
-            } catch (Exception e) {
-                coverImage = HttpMethods.getBufferedImagefromUrl(ApiConstants.NO_AVATAR_URL);
-            }
-            cover.setImage(SwingFXUtils.toFXImage(coverImage, null));
+            cover.setImage(SwingFXUtils.toFXImage(covers.get(i).get(), null));
             cover.setOpacity(1);
             cover.setPreserveRatio(true);
-            int coverSize = 234;
-            cover.setFitHeight(coverSize);
-
-            int coverStartYOffset = 10;
-            int coverYOffset = 41;
-            cover.setTranslateY(i * (coverSize + coverYOffset) + coverStartYOffset);
-            cover.setTranslateX(10);
+            cover.setFitHeight(COVER_SIZE);
+            cover.setTranslateY(row.coverY);
+            cover.setTranslateX(COVER_X);
 
             // Shader Lights Cover Image
             boolean topThreeRank = rank <= 3;
@@ -94,73 +144,62 @@ public class SongsImage extends Application {
 
             root.getChildren().add(cover);
 
-            int rightTextsX = 265;
-            int itemStartYOffset = 65;
-            int itemYOffset = 275;
-            int rightTextsY = i * itemYOffset + itemStartYOffset;
             // Songname
-            Text songNameText = new Text(rightTextsX, rightTextsY - 10, songName);
-            songNameText.setFont(score.getLeaderboard().getSongName().length() > 36 ? FontUtils.consolasBold(36 * 55f / score.getLeaderboard().getSongName().length()) : FontUtils.consolasBold(55));
+            Text songNameText = new Text(TEXT_X, row.songNameY, songName);
+            songNameText.setFont(FontUtils.consolasBold(row.songNameSize));
             songNameText.setFill(Color.WHITE);
             songNameText.setEffect(textShadow);
 
             // Author
-            Text authorText = new Text(rightTextsX, rightTextsY + 35, author);
-            authorText.setFont(FontUtils.consolas(40));
+            Text authorText = new Text(TEXT_X, row.authorY, author);
+            authorText.setFont(FontUtils.consolas(AUTHOR_SIZE));
             authorText.setFill(Color.WHITE);
             authorText.setEffect(textShadow);
 
             // Relative Time
-            boolean veryLongTitle = songName.length() > 26;
-            Text relTime = new Text(rightTextsX - relativeTime.length() * 28 + 1170 + (veryLongTitle ? 18 : 0), rightTextsY + (veryLongTitle ? 45 : -10), relativeTime);
-            relTime.setFont(FontUtils.consolasBold(veryLongTitle ? 38 : 40));
+            Text relTime = new Text(row.relativeTimeX, row.relativeTimeY, relativeTime);
+            relTime.setFont(FontUtils.consolasBold(row.relativeTimeSize));
             relTime.setFill(Color.LIGHTGREY);
             relTime.setEffect(textShadow);
 
             // Diff
             Color diffColor = FontUtils.getDiffColor(score.getLeaderboard().getDifficultyValue());
-            Text diffText = new Text(rightTextsX, rightTextsY + 160, diff);
-            diffText.setFont(FontUtils.consolasBold(60));
+            Text diffText = new Text(TEXT_X, row.diffY, diff);
+            diffText.setFont(FontUtils.consolasBold(DIFF_SIZE));
             diffText.setFill(diffColor);
             diffText.setEffect(textShadow);
 
             // Accuracy
-            Text accText = new Text(rightTextsX + 880 + (veryLongTitle ? 50 : 0), rightTextsY + 76 + (veryLongTitle ? 30 : 0), acc);
-            accText.setFont(FontUtils.consolasBold(veryLongTitle ? 55 : 70));
+            Text accText = new Text(row.accX, row.accY, acc);
+            accText.setFont(FontUtils.consolasBold(row.accSize));
             accText.setFill(Color.WHITE);
             accText.setEffect(textShadow);
 
             // Rank
-            Text rankText = new Text(rightTextsX + 980 + (veryLongTitle ? 30 : 0), rightTextsY + 150 + (veryLongTitle ? 10 : 0), "#" + rank);
-
-            if (rank < 100) {
-                rankText.setX(rankText.getX() + (veryLongTitle ? 22 * (3 - String.valueOf(rank).length()) : 26 * (3 - String.valueOf(rank).length())));
-            } else if (rank > 999) {
-                rankText.setX(rankText.getX() - String.valueOf(rank).length() * 8);
-            }
-            rankText.setFont(FontUtils.consolasBold(veryLongTitle ? 45 : 60));
+            Text rankText = new Text(row.rankX, row.rankY, "#" + rank);
+            rankText.setFont(FontUtils.consolasBold(row.rankSize));
             rankText.setFill(rankColor);
             rankText.setEffect(textShadow);
 
             root.getChildren().addAll(songNameText, authorText, diffText, accText, rankText, relTime);
 
             // RANKED
-            if (isRanked) {
+            if (row.isRanked) {
                 // Star Text
-                Text starsText = new Text(rightTextsX, rightTextsY + 100, Format.decimal(stars));
-                starsText.setFont(FontUtils.consolasBold(50));
+                Text starsText = new Text(TEXT_X, row.starsY, row.stars);
+                starsText.setFont(FontUtils.consolasBold(STARS_SIZE));
                 starsText.setFill(Color.YELLOW);
                 starsText.setEffect(textShadow);
 
                 // Star Drawing
                 ImageView star = new ImageView(starImage); // Star Image, Bug fix
-                star.setX(275 + (Format.decimal(stars).length() == 4 ? 10 : 40));
-                star.setY(i * itemYOffset + itemStartYOffset - 35);
-                star.setScaleX(0.2);
-                star.setScaleY(0.2);
+                star.setX(row.starX);
+                star.setY(row.starY);
+                star.setScaleX(STAR_SCALE);
+                star.setScaleY(STAR_SCALE);
                 star.setOpacity(1);
                 star.setPreserveRatio(true);
-                star.setFitHeight(coverSize);
+                star.setFitHeight(COVER_SIZE);
                 DropShadow starShadow = new DropShadow();
                 starShadow.setColor(i < 5 ? Color.BLACK : Color.YELLOW);
                 starShadow.setSpread(i < 5 ? 0.4 : 1);
@@ -168,39 +207,32 @@ public class SongsImage extends Application {
                 star.setEffect(starShadow);
 
                 // PP
-                Text ppText = new Text(rightTextsX + 500, rightTextsY + 115, pp);
-                ppText.setFont(FontUtils.consolasBold(58));
-                ppText.setFill(Color.rgb(66, 245, 108));
+                Text ppText = new Text(row.ppX, row.ppY, pp);
+                ppText.setFont(FontUtils.consolasBold(PP_SIZE));
+                ppText.setFill(PP_COLOR);
                 ppText.setEffect(textShadow);
 
                 // PP Weight
-                Text ppWeightText = new Text(rightTextsX + 520, rightTextsY + 160, ppWeight);
-                ppWeightText.setFont(FontUtils.consolasBold(45));
-                ppWeightText.setFill(Color.rgb(24, 161, 56));
+                Text ppWeightText = new Text(row.ppWeightX, row.ppWeightY, ppWeight);
+                ppWeightText.setFont(FontUtils.consolasBold(PP_WEIGHT_SIZE));
+                ppWeightText.setFill(PP_WEIGHT_COLOR);
                 ppWeightText.setEffect(textShadow);
 
                 // Leaderboard
-                Text leaderboardText = new Text(25, rightTextsY - 20, rankOnPlayerLeaderboard + ".");
-                boolean isTopTenPlayerScore = rankOnPlayerLeaderboard <= 10;
-                boolean isTopThreePlayerScore = rankOnPlayerLeaderboard <= 3;
-
-                int playerRankYOffset = isTopTenPlayerScore ? (11 - rankOnPlayerLeaderboard) * -2 : 0;
-                leaderboardText.setY(leaderboardText.getY() - playerRankYOffset);
-                int additionalFontSize = isTopTenPlayerScore ? (11 - rankOnPlayerLeaderboard) * 2 : 0;
-
-                leaderboardText.setFont(FontUtils.consolasBold(30 + additionalFontSize));
-                Color playerRankTextColor = isTopThreePlayerScore ? Color.BLACK : Color.WHITE;
+                Text leaderboardText = new Text(LEADERBOARD_X, row.leaderboardY, row.rankOnPlayerLeaderboard + ".");
+                leaderboardText.setFont(FontUtils.consolasBold(row.leaderboardSize));
+                Color playerRankTextColor = row.isTopThreePlayerScore ? Color.BLACK : Color.WHITE;
                 leaderboardText.setFill(playerRankTextColor);
                 leaderboardText.setStroke(playerRankShadowColor);
                 leaderboardText.setStroke(Color.BLACK);
                 leaderboardText.setStrokeType(StrokeType.OUTSIDE);
-                leaderboardText.setStrokeWidth(isTopThreePlayerScore ? 2 : 5);
+                leaderboardText.setStrokeWidth(row.isTopThreePlayerScore ? 2 : 5);
 
                 DropShadow leaderboardTextShadow = new DropShadow();
                 leaderboardTextShadow.setColor(playerRankShadowColor);
-                leaderboardTextShadow.setSpread(isTopThreePlayerScore ? 0.9 : 0.6);
+                leaderboardTextShadow.setSpread(row.isTopThreePlayerScore ? 0.9 : 0.6);
                 leaderboardTextShadow.setRadius(10);
-                if (isTopThreePlayerScore) {
+                if (row.isTopThreePlayerScore) {
                     Glow playerRankFlow = new Glow();
                     playerRankFlow.setLevel(0.5);
                     leaderboardTextShadow.setInput(glow);
@@ -215,36 +247,186 @@ public class SongsImage extends Application {
             }
         }
         root.autosize();
-        final SnapshotParameters snapPara = new SnapshotParameters();
-        snapPara.setFill(Color.TRANSPARENT);
-        WritableImage resultImage = root.snapshot(snapPara, null);
-
-        JavaFXUtils.saveFile(resultImage, new File(getFilePath()));
-        setFinished(true);
-        primaryStage.close();
+        return root;
     }
 
-    public static boolean isFinished() {
-        return isFinished;
+    @Override
+    public BufferedImage renderImage() throws Exception {
+        BufferedImage baseImage = RenderAssets.bufferedImage(RenderAssets.BaseImage.SONGS_BACKGROUND);
+        BufferedImage starImage = RenderAssets.bufferedImage(RenderAssets.BaseImage.STAR);
+        List<CompletableFuture<BufferedImage>> covers = fetchCovers();
+
+        BufferedImage canvas = new BufferedImage(baseImage.getWidth(), baseImage.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = GraphicsUtils.createGraphics(canvas);
+        g.drawImage(baseImage, 0, 0, null);
+        java.awt.Color black = java.awt.Color.BLACK;
+
+        for (int i = 0; i < scores.size(); i++) {
+            PlayerScore score = scores.get(i);
+            RowLayout row = new RowLayout(i, score);
+            int rank = score.getScore().getRank();
+            Color rankColor = FontUtils.getRankColor(rank, Color.WHITE);
+            Color playerRankShadowColor = FontUtils.getRankColor(row.rankOnPlayerLeaderboard, Color.WHITE);
+
+            // Cover Image
+            BufferedImage coverImage = covers.get(i).get();
+            double coverWidth = coverImage.getWidth() * (double) COVER_SIZE / coverImage.getHeight();
+            Rectangle2D coverBounds = new Rectangle2D.Double(COVER_X, row.coverY, coverWidth, COVER_SIZE);
+            boolean topThreeRank = rank <= 3;
+            GraphicsUtils.drawShadow(g, coverImage, coverBounds, topThreeRank ? GraphicsUtils.toAwtColor(rankColor) : black, 10, topThreeRank ? 1 : 0.9);
+            GraphicsUtils.drawImageFitHeight(g, coverImage, COVER_X, row.coverY, COVER_SIZE);
+
+            // Songname
+            drawShadowedText(g, score.getLeaderboard().getSongName(), awtConsolasBold(row.songNameSize), TEXT_X, row.songNameY, Color.WHITE);
+            // Author
+            drawShadowedText(g, score.getLeaderboard().getLevelAuthorName(), awtConsolas(AUTHOR_SIZE), TEXT_X, row.authorY, Color.WHITE);
+            // Diff
+            drawShadowedText(g, score.getLeaderboard().getDifficulty().getDifficultyName(), awtConsolasBold(DIFF_SIZE), TEXT_X, row.diffY,
+                    FontUtils.getDiffColor(score.getLeaderboard().getDifficultyValue()));
+            // Accuracy
+            drawShadowedText(g, score.getAccuracyString(), awtConsolasBold(row.accSize), row.accX, row.accY, Color.WHITE);
+            // Rank
+            drawShadowedText(g, "#" + rank, awtConsolasBold(row.rankSize), row.rankX, row.rankY, rankColor);
+            // Relative Time
+            drawShadowedText(g, score.getRelativeTimeString(), awtConsolasBold(row.relativeTimeSize), row.relativeTimeX, row.relativeTimeY, Color.LIGHTGREY);
+
+            // RANKED
+            if (row.isRanked) {
+                drawShadowedText(g, row.stars, awtConsolasBold(STARS_SIZE), TEXT_X, row.starsY, Color.YELLOW);
+
+                // Star Drawing, scaled around the center of its fitted bounds like the FX version
+                double fittedWidth = starImage.getWidth() * (double) COVER_SIZE / starImage.getHeight();
+                double starX = row.starX + fittedWidth * (1 - STAR_SCALE) / 2;
+                double starY = row.starY + COVER_SIZE * (1 - STAR_SCALE) / 2;
+                Rectangle2D starBounds = new Rectangle2D.Double(starX, starY, fittedWidth * STAR_SCALE, COVER_SIZE * STAR_SCALE);
+                GraphicsUtils.drawShadow(g, starImage, starBounds, i < 5 ? black : java.awt.Color.YELLOW, i < 5 ? 50 : 0, i < 5 ? 0.4 : 1);
+                GraphicsUtils.drawImageFitHeight(g, starImage, starX, starY, COVER_SIZE * STAR_SCALE);
+
+                drawShadowedText(g, score.getPpString(), awtConsolasBold(PP_SIZE), row.ppX, row.ppY, PP_COLOR);
+                drawShadowedText(g, score.getWeightPpString(), awtConsolasBold(PP_WEIGHT_SIZE), row.ppWeightX, row.ppWeightY, PP_WEIGHT_COLOR);
+
+                // Leaderboard
+                GraphicsUtils.drawOutlinedText(g, row.rankOnPlayerLeaderboard + ".", awtConsolasBold(row.leaderboardSize), LEADERBOARD_X, row.leaderboardY,
+                        GraphicsUtils.toAwtColor(row.isTopThreePlayerScore ? Color.BLACK : Color.WHITE), black, row.isTopThreePlayerScore ? 2 : 5,
+                        GraphicsUtils.toAwtColor(playerRankShadowColor), 10, row.isTopThreePlayerScore ? 0.9 : 0.6);
+            }
+        }
+        g.dispose();
+        return canvas;
     }
 
-    public static void setFinished(boolean isFinished) {
-        SongsImage.isFinished = isFinished;
+    private static void drawShadowedText(Graphics2D g, String text, java.awt.Font font, double x, double y, Color fill) {
+        GraphicsUtils.drawText(g, text, font, x, y, GraphicsUtils.toAwtColor(fill), java.awt.Color.BLACK, TEXT_SHADOW_RADIUS, TEXT_SHADOW_SPREAD);
     }
 
-    public static List<PlayerScore> getScores() {
-        return scores;
+    private static java.awt.Font awtConsolas(double size) {
+        return RenderAssets.awtFont(RenderAssets.FontFace.CONSOLAS, size);
     }
 
-    public static void setScores(List<PlayerScore> scores) {
-        SongsImage.scores = scores;
+    private static java.awt.Font awtConsolasBold(double size) {
+        return RenderAssets.awtFont(RenderAssets.FontFace.CONSOLAS_BOLD, size);
     }
 
-    public static String getFilePath() {
-        return filePath;
+    private List<CompletableFuture<BufferedImage>> fetchCovers() {
+        ImageFetchService images = ImageFetchService.getInstance();
+        List<CompletableFuture<BufferedImage>> covers = new ArrayList<>();
+        for (PlayerScore score : scores) {
+            String hash = score.getLeaderboard().getSongHash();
+            boolean hasCover = WebUtils.isURL(score.getCoverURL());
+            CompletableFuture<BufferedImage> fetched = hasCover && hash != null
+                    ? coverStore.getCover(hash, score.getCoverURL(), COVER_SIZE)
+                    : images.fetch(hasCover ? score.getCoverURL() : ApiConstants.NO_AVATAR_URL);
+            covers.add(fetched
+                    .handle((image, error) -> {
+                        if (image != null) {
+                            return CompletableFuture.completedFuture(image);
+                        }
+                        degraded = true;
+                        return images.fetch(ApiConstants.NO_AVATAR_URL);
+                    })
+                    .thenCompose(cover -> cover));
+        }
+        return covers;
     }
 
-    public static void setFilePath(String filePath) {
-        SongsImage.filePath = filePath;
+    /**
+     * Positions and font sizes of one score row, computed once for whichever backend draws it.
+     */
+    private static final class RowLayout {
+        final double coverY;
+        final double songNameY;
+        final double songNameSize;
+        final double authorY;
+        final double relativeTimeX;
+        final double relativeTimeY;
+        final double relativeTimeSize;
+        final double diffY;
+        final double accX;
+        final double accY;
+        final double accSize;
+        final double rankX;
+        final double rankY;
+        final double rankSize;
+        final boolean isRanked;
+        final String stars;
+        final double starsY;
+        final double starX;
+        final double starY;
+        final double ppX;
+        final double ppY;
+        final double ppWeightX;
+        final double ppWeightY;
+        final int rankOnPlayerLeaderboard;
+        final boolean isTopThreePlayerScore;
+        final double leaderboardY;
+        final double leaderboardSize;
+
+        RowLayout(int index, PlayerScore score) {
+            String songName = score.getLeaderboard().getSongName();
+            String relativeTime = score.getRelativeTimeString();
+            int rank = score.getScore().getRank();
+            boolean veryLongTitle = songName.length() > LONG_TITLE_LENGTH;
+            double textY = index * ITEM_HEIGHT + TEXT_Y;
+
+            coverY = index * ITEM_HEIGHT + COVER_Y;
+            songNameY = textY - 10;
+            songNameSize = songName.length() > SHRINK_TITLE_LENGTH ? SHRINK_TITLE_LENGTH * 55f / songName.length() : 55;
+            authorY = textY + 35;
+            relativeTimeX = TEXT_X - relativeTime.length() * 28 + 1170 + (veryLongTitle ? 18 : 0);
+            relativeTimeY = textY + (veryLongTitle ? 45 : -10);
+            relativeTimeSize = veryLongTitle ? 38 : 40;
+            diffY = textY + 160;
+            accX = TEXT_X + 880 + (veryLongTitle ? 50 : 0);
+            accY = textY + 76 + (veryLongTitle ? 30 : 0);
+            accSize = veryLongTitle ? 55 : 70;
+
+            double x = TEXT_X + 980 + (veryLongTitle ? 30 : 0);
+            if (rank < 100) {
+                x += veryLongTitle ? 22 * (3 - String.valueOf(rank).length()) : 26 * (3 - String.valueOf(rank).length());
+            } else if (rank > 999) {
+                x -= String.valueOf(rank).length() * 8;
+            }
+            rankX = x;
+            rankY = textY + 150 + (veryLongTitle ? 10 : 0);
+            rankSize = veryLongTitle ? 45 : 60;
+
+            isRanked = score.getScore().getPp() > 0;
+            stars = Format.decimal(score.getSongStars());
+            starsY = textY + 100;
+            starX = STAR_X + (stars.length() == 4 ? 10 : 40);
+            starY = textY - 35;
+            ppX = TEXT_X + 500;
+            ppY = textY + 115;
+            ppWeightX = TEXT_X + 520;
+            ppWeightY = textY + 160;
+
+            rankOnPlayerLeaderboard = isRanked && score.getScore().getWeight() > 0
+                    ? Format.roundDouble((Math.log10(score.getScore().getWeight()) + Math.log10(0.965)) / Math.log10(0.965)) : -1;
+            boolean isTopTenPlayerScore = rankOnPlayerLeaderboard <= 10;
+            isTopThreePlayerScore = rankOnPlayerLeaderboard <= 3;
+            int playerRankYOffset = isTopTenPlayerScore ? (11 - rankOnPlayerLeaderboard) * -2 : 0;
+            leaderboardY = textY - 20 - playerRankYOffset;
+            leaderboardSize = 30 + (isTopTenPlayerScore ? (11 - rankOnPlayerLeaderboard) * 2 : 0);
+        }
     }
 }
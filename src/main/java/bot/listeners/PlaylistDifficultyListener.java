@@ -21,6 +21,7 @@ public class PlaylistDifficultyListener extends ListenerAdapter {
     final long authorId;
     final Playlist playlist;
     final List<Song> playlistSongsWithMoreAttributes;
+    int currentSongIndex;
     Song currentSong;
     final TextChannel channel;
     final BeatSaver bs;
@@ -85,8 +86,8 @@ public class PlaylistDifficultyListener extends ListenerAdapter {
 
         newestMessage.delete().queue();
         addSongDifficultyByEmote(currentSong, event.getReactionEmote().getEmoji());
-        if (hasNextSong(currentSong)) {
-            currentSong = getNextSong(currentSong);
+        if (hasNextSong()) {
+            currentSong = playlistSongsWithMoreAttributes.get(++currentSongIndex);
             askForSongDifficulty(currentSong);
         } else {
             finished();
@@ -113,12 +114,9 @@ public class PlaylistDifficultyListener extends ListenerAdapter {
             return "???";
     }
 
-    private boolean hasNextSong(Song currentSong) {
-        return playlistSongsWithMoreAttributes.indexOf(currentSong) < playlist.getSongs().size() - 1;
-    }
-
-    private Song getNextSong(Song currentSong) {
-        return playlistSongsWithMoreAttributes.get(playlistSongsWithMoreAttributes.indexOf(currentSong) + 1);
+    // By position, the same map can be in the playlist more than once and then is the same Song instance
+    private boolean hasNextSong() {
+        return currentSongIndex < playlistSongsWithMoreAttributes.size() - 1;
     }
 
     public void finished() {
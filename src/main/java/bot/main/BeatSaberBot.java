@@ -2,6 +2,7 @@ package bot.main;
 
 import bot.api.ApiConstants;
 import bot.api.BeatSaver;
+import bot.api.RequestPriority;
 import bot.api.ScoreSaber;
 import bot.chart.PlayerChart;
 import bot.chart.RadarStatsChart;
@@ -11,8 +12,8 @@ import bot.dto.MessageEventDTO;
 import bot.dto.player.Player;
 import bot.dto.player.PlayerSkills;
 import bot.dto.rankedmaps.RankedMaps;
+import bot.graphics.RenderAssets;
 import bot.utils.*;
-import javafx.application.Platform;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.JDABuilder;
 import net.dv8tion.jda.api.entities.*;
@@ -36,9 +37,7 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.security.auth.login.LoginException;
 import java.io.FileNotFoundException;
-import java.util.Arrays;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -48,23 +47,43 @@ public class BeatSaberBot extends ListenerAdapter {
     final ScoreSaber ss = new ScoreSaber();
     final BeatSaver bs = new BeatSaver();
     final DatabaseManager db = new DatabaseManager();
-    RankedMaps ranked = new RankedMaps();
+    volatile RankedMaps ranked = new RankedMaps();
+    volatile RankedMapsWatcher rankedWatcher;
+
+    // Keep in sync with the switch in handleCommand, everything else is counted as "unknown" in the stats
+    private static final Set<String> KNOWN_COMMANDS = new HashSet<>(Arrays.asList(
+            "register", "update", "claimpp", "claimppall", "unregister", "registerall", "improvement", "chart",
+            "chartall", "stand", "setskill", "playlist", "rplaylist", "qualified", "ranked", "randommeme",
+            "recentsong", "topsong", "recentsongs", "topsongs", "localrank", "globalrank", "dachrank",
+            "setgridimage", "profile", "seal", "say", "stats", "setstatus", "refreshranked", "deletethat", "invite",
+            "leave", "help"));
+
+    final CommandExecutor commandExecutor = new CommandExecutor(
+            KNOWN_COMMANDS,
+            NumberUtils.toInt(System.getenv("command_workers"), 4),
+            NumberUtils.toInt(System.getenv("command_queue_per_guild"), 5),
+            NumberUtils.toInt(System.getenv("command_queue_total"), 100));
+
+    private static final String BUSY_MESSAGE = "I'm a bit busy right now, please try again in a moment. 🕒";
 
     static boolean hasStarted = false;
 
     final Pattern scoreSaberIDPattern = Pattern.compile(ApiConstants.USER_ID_REGEX);
 
     public static void main(String[] args) {
+        if (System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", "true");
+        }
         DatabaseManager db = new DatabaseManager();
-        ScoreSaber ss = new ScoreSaber();
-        Platform.setImplicitExit(false);
+        ScoreSaber ss = new ScoreSaber(RequestPriority.BACKGROUND);
+        BeatSaberBot bot = new BeatSaberBot();
 
         try {
             JDABuilder builder = JDABuilder.createDefault(System.getenv("bot_token"))
                     .setMemberCachePolicy(MemberCachePolicy.ALL)
                     .enableIntents(GatewayIntent.GUILD_MEMBERS)
                     .setChunkingFilter(ChunkingFilter.ALL)
-                    .addEventListeners(new BeatSaberBot())
+                    .addEventListeners(bot)
                     .disableCache(CacheFlag.VOICE_STATE, CacheFlag.EMOTE)
                     .setActivity(Activity.playing(BotConstants.PLAYING));
 
@@ -85,9 +104,23 @@ public class BeatSaberBot extends ListenerAdapter {
                 System.out.println("Continuing without logging guild.");
             }
 
+            RenderAssets.warmUp();
+
             LeaderboardWatcher watcher = new LeaderboardWatcher(db, ss, jda);
             watcher.createNewLeaderboardWatcher();
             watcher.start();
+
+            if (System.getenv("disableRankedRequests") == null) {
+                bot.bs.loadRankedMapsSnapshot();
+                RankedMapsWatcher rankedWatcher = new RankedMapsWatcher(bot.bs);
+                String rankedChannelId = System.getenv("ranked_channel_id");
+                TextChannel rankedChannel = NumberUtils.isDigits(rankedChannelId) ? jda.getTextChannelById(Long.parseLong(rankedChannelId)) : null;
+                if (rankedChannel != null) {
+                    rankedWatcher.subscribeChannel(rankedChannel);
+                }
+                rankedWatcher.start();
+                bot.rankedWatcher = rankedWatcher;
+            }
         } catch (LoginException e) {
             e.printStackTrace();
         }
@@ -105,7 +138,8 @@ public class BeatSaberBot extends ListenerAdapter {
         List<String> msgParts = Arrays.asList(("ru " + message).split(" "));
         event.getHook().setEphemeral(true);
         event.deferReply(true).queue();
-        handleCommand(msgParts, new MessageEventDTO(event));
+        // The deferred reply has to be completed through the hook, a channel message leaves it "thinking"
+        submitCommand(msgParts, new MessageEventDTO(event), () -> event.getHook().sendMessage(BUSY_MESSAGE).queue());
     }
 
     @Override
@@ -122,13 +156,21 @@ public class BeatSaberBot extends ListenerAdapter {
 
             event.getChannel().sendTyping().queue();
             List<String> msgParts = Arrays.asList(msg.split(" "));
-            handleCommand(msgParts, new MessageEventDTO(event));
+            submitCommand(msgParts, new MessageEventDTO(event), () -> Messages.sendTempMessage(BUSY_MESSAGE, 10, event.getTextChannel()));
         } catch (Exception e) {
             DiscordLogger.sendLogInChannel(ExceptionUtils.getStackTrace(e), DiscordLogger.ERRORS);
             e.printStackTrace();
         }
     }
 
+    private void submitCommand(List<String> msgParts, MessageEventDTO event, Runnable onRejected) {
+        String command = msgParts.size() > 1 ? msgParts.get(1).toLowerCase() : "";
+        boolean accepted = commandExecutor.submit(command, event.getGuild().getIdLong(), () -> handleCommand(msgParts, event));
+        if (!accepted) {
+            onRejected.run();
+        }
+    }
+
     private void handleCommand(List<String> msgParts, MessageEventDTO event) {
             TextChannel channel = event.getChannel();
             Guild guild = event.getGuild();
@@ -321,7 +363,7 @@ public class BeatSaberBot extends ListenerAdapter {
                     break;
                 case "stats":
                     if (DiscordUtils.isAdmin(authorUser)) {
-                        new SendStats().sendStats(event);
+                        new SendStats(commandExecutor).sendStats(event);
                     }
                     break;
                 case "setstatus":
@@ -333,7 +375,12 @@ public class BeatSaberBot extends ListenerAdapter {
                     break;
                 case "refreshranked":
                     if (DiscordUtils.isAdmin(authorUser)) {
-                        ranked = bs.fetchAllRankedMaps();
+                        if (rankedWatcher == null) {
+                            Messages.sendTempMessage("Ranked requests are disabled.", 10, channel);
+                        } else {
+                            rankedWatcher.syncNow();
+                            Messages.sendTempMessage("Ranked maps sync started.", 10, channel);
+                        }
                     }
                     break;
                 case "deletethat":
@@ -386,7 +433,7 @@ public class BeatSaberBot extends ListenerAdapter {
         ranked = bs.getCachedRankedMaps();
         if (ranked.getRankedMaps() == null && System.getenv("disableRankedRequests") == null) {
             Messages.sendTempMessage("First command after startup, fetching ranked maps. Please wait... 🕒", 10, channel);
-            ranked = bs.fetchAllRankedMaps();
+            ranked = bs.fetchRankedMapsIfNonExistent();
         }
     }
 
@@ -0,0 +1,188 @@
+package bot.main;
+
+import bot.utils.DiscordLogger;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs commands on a bounded set of worker threads so the JDA event thread only parses and enqueues. Every guild
+ * has its own queue and the workers serve guilds round robin, so one guild spamming slow commands cannot starve the
+ * others. Submissions beyond the queue limits are rejected and the caller is expected to answer with a busy reply.
+ * Stats are kept per known command, anything else is counted as "unknown" so typos cannot grow the stats.
+ */
+public class CommandExecutor {
+
+    private static final String UNKNOWN_COMMAND = "unknown";
+
+    private final Set<String> knownCommands;
+    private final int maxQueuedPerGuild;
+    private final int maxQueuedTotal;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Map<Long, ArrayDeque<QueuedCommand>> queuesByGuild = new HashMap<>();
+    private final ArrayDeque<Long> guildRotation = new ArrayDeque<>();
+    private int queuedTotal = 0;
+
+    private final Map<String, CommandStats> statsByCommand = new ConcurrentHashMap<>();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public CommandExecutor(Set<String> knownCommands, int workers, int maxQueuedPerGuild, int maxQueuedTotal) {
+        this.knownCommands = knownCommands;
+        this.maxQueuedPerGuild = maxQueuedPerGuild;
+        this.maxQueuedTotal = maxQueuedTotal;
+        ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setNameFormat("command-worker-%d")
+                .setDaemon(true)
+                .build();
+        for (int i = 0; i < workers; i++) {
+            threadFactory.newThread(this::workLoop).start();
+        }
+    }
+
+    /**
+     * @return false if the guild's queue or the global queue is full and the command was not accepted
+     */
+    public boolean submit(String command, long guildId, Runnable task) {
+        lock.lock();
+        try {
+            ArrayDeque<QueuedCommand> queue = queuesByGuild.get(guildId);
+            int guildDepth = queue == null ? 0 : queue.size();
+            if (guildDepth >= maxQueuedPerGuild || queuedTotal >= maxQueuedTotal) {
+                rejected.incrementAndGet();
+                getStats(command).rejected.incrementAndGet();
+                return false;
+            }
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                queuesByGuild.put(guildId, queue);
+                guildRotation.addLast(guildId);
+            }
+            queue.addLast(new QueuedCommand(command, task));
+            queuedTotal++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueuedCount() {
+        lock.lock();
+        try {
+            return queuedTotal;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getStatsSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append("Queued: ").append(getQueuedCount())
+                .append("   Rejected: ").append(rejected.get());
+        List<String> commands = new ArrayList<>(statsByCommand.keySet());
+        Collections.sort(commands);
+        for (String command : commands) {
+            summary.append("\n").append(command).append(":   ").append(statsByCommand.get(command));
+        }
+        return summary.toString();
+    }
+
+    private QueuedCommand take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (queuedTotal == 0) {
+                notEmpty.await();
+            }
+            Long guildId = guildRotation.pollFirst();
+            ArrayDeque<QueuedCommand> queue = queuesByGuild.get(guildId);
+            QueuedCommand next = queue.pollFirst();
+            if (queue.isEmpty()) {
+                queuesByGuild.remove(guildId);
+            } else {
+                guildRotation.addLast(guildId);
+            }
+            queuedTotal--;
+            return next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void workLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            QueuedCommand next;
+            try {
+                next = take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long started = System.nanoTime();
+            try {
+                next.task.run();
+            } catch (Throwable e) {
+                // Errors too, e.g. a failing JavaFX class init, would otherwise end the worker for good
+                e.printStackTrace();
+                DiscordLogger.sendLogInChannel(ExceptionUtils.getStackTrace(e), DiscordLogger.ERRORS);
+            } finally {
+                long finished = System.nanoTime();
+                getStats(next.command).record(started - next.enqueuedAt, finished - started);
+            }
+        }
+    }
+
+    private CommandStats getStats(String command) {
+        String key = knownCommands.contains(command) ? command : UNKNOWN_COMMAND;
+        return statsByCommand.computeIfAbsent(key, c -> new CommandStats());
+    }
+
+    private static class QueuedCommand {
+        final String command;
+        final Runnable task;
+        final long enqueuedAt = System.nanoTime();
+
+        QueuedCommand(String command, Runnable task) {
+            this.command = command;
+            this.task = task;
+        }
+    }
+
+    private static class CommandStats {
+        final AtomicLong executions = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong totalWaitNanos = new AtomicLong();
+        final AtomicLong maxWaitNanos = new AtomicLong();
+        final AtomicLong totalRunNanos = new AtomicLong();
+        final AtomicLong maxRunNanos = new AtomicLong();
+
+        void record(long waitNanos, long runNanos) {
+            executions.incrementAndGet();
+            totalWaitNanos.addAndGet(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+            totalRunNanos.addAndGet(runNanos);
+            maxRunNanos.accumulateAndGet(runNanos, Math::max);
+        }
+
+        @Override
+        public String toString() {
+            long count = executions.get();
+            return count + " runs"
+                    + "   wait avg " + averageMillis(totalWaitNanos.get(), count) + "ms / max " + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()) + "ms"
+                    + "   run avg " + averageMillis(totalRunNanos.get(), count) + "ms / max " + TimeUnit.NANOSECONDS.toMillis(maxRunNanos.get()) + "ms"
+                    + (rejected.get() > 0 ? "   rejected " + rejected.get() : "");
+        }
+
+        private static long averageMillis(long totalNanos, long count) {
+            return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos / count);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.TextChannel;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.commons.lang3.tuple.Pair;
 
 import java.awt.*;
 import java.time.LocalTime;
@@ -44,9 +45,11 @@ public class LeaderboardWatcher {
             db.connectToDatabase();
             String updatingMessage = "----- Starting User Refresh... [" + Format.oneDigitZero(LocalTime.now().getHour()) + ":" + Format.oneDigitZero(LocalTime.now().getMinute()) + "]";
             DiscordLogger.sendLogInChannel(updatingMessage, DiscordLogger.WATCHER_REFRESH);
+            List<Pair<Player, Player>> pendingUpdates = new ArrayList<>();
             try {
-                int fetchCounter = 0;
+                long loadStart = System.currentTimeMillis();
                 List<Player> oldPlayers = db.getAllStoredPlayers();
+                DiscordLogger.sendLogInChannel("Loaded " + oldPlayers.size() + " stored players in " + (System.currentTimeMillis() - loadStart) + "ms", DiscordLogger.WATCHER_REFRESH);
 
                 List<Player> updatedPlayers = new ArrayList<>();
                 //Iterate over stored players
@@ -66,32 +69,34 @@ public class LeaderboardWatcher {
                     boolean isInactive = updatedPlayer.getRank() == 0;
                     boolean shouldUpdate = (rankIsDifferent || ppIsDifferent) && !isInactive;
                     if (shouldUpdate) {
-                        db.updatePlayer(updatedPlayer);
+                        pendingUpdates.add(Pair.of(storedPlayer, updatedPlayer));
                         handleFOAAPlayerUpdate(foaaOutput, updatedPlayer, storedPlayer);
                     }
-
-                    try {
-                        TimeUnit.MILLISECONDS.sleep(50);
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                    fetchCounter++;
-
-                    if (fetchCounter % 200 == 0) {
-                        TimeUnit.MINUTES.sleep(1);
-                    }
                 }
 
+                flushPlayerUpdates(pendingUpdates);
+
                 //BSG
                 handleBSGPlayerUpdate(bsgOutput, updatedPlayers, oldPlayers);
             } catch (Exception e) {
                 e.printStackTrace();
                 DiscordLogger.sendLogInChannel(ExceptionUtils.getStackTrace(e), DiscordLogger.WATCHER_REFRESH);
+                flushPlayerUpdates(pendingUpdates);
             }
             DiscordLogger.sendLogInChannel("Finished!", DiscordLogger.WATCHER_REFRESH);
         };
     }
 
+    private void flushPlayerUpdates(List<Pair<Player, Player>> pendingUpdates) {
+        if (pendingUpdates.isEmpty()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int written = db.updatePlayers(pendingUpdates);
+        DiscordLogger.sendLogInChannel("Saved " + written + "/" + pendingUpdates.size() + " changed players in " + (System.currentTimeMillis() - start) + "ms", DiscordLogger.WATCHER_REFRESH);
+        pendingUpdates.clear();
+    }
+
     private void handleFOAAPlayerUpdate(TextChannel foaaOutput, Player updatedPlayer, Player storedPlayer) {
             Member member = DiscordUtils.getMemberByChannelAndId(foaaOutput, updatedPlayer.getDiscordUserId());
             if (member != null && RoleManagerFOAA.isNewMilestone(updatedPlayer.getRank(), member)) {
@@ -0,0 +1,86 @@
+package bot.main;
+
+import bot.api.ApiConstants;
+import bot.api.BeatSaver;
+import bot.dto.rankedmaps.BeatSaverRankedMap;
+import bot.utils.DiscordLogger;
+import bot.utils.Format;
+import bot.utils.Messages;
+import net.dv8tion.jda.api.entities.TextChannel;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class RankedMapsWatcher {
+
+    private static final long SYNC_INTERVAL_MINUTES = 15;
+    private static final int FULL_REFRESH_EVERY_SYNCS = 96; // Once a day
+    private static final int MAX_ANNOUNCED_MAPS = 20;
+
+    private final BeatSaver bs;
+    private final List<RankedMapsListener> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService service = Executors.newSingleThreadScheduledExecutor();
+    private int syncCount = 0;
+
+    public RankedMapsWatcher(BeatSaver bs) {
+        this.bs = bs;
+    }
+
+    public void subscribe(RankedMapsListener listener) {
+        listeners.add(listener);
+    }
+
+    public void subscribeChannel(TextChannel channel) {
+        subscribe(newMaps -> announceNewlyRankedMaps(newMaps, channel));
+    }
+
+    private void sync() {
+        try {
+            syncCount++;
+            List<BeatSaverRankedMap> newMaps = syncCount % FULL_REFRESH_EVERY_SYNCS == 0
+                    ? bs.refreshAllRankedMaps()
+                    : bs.syncLatestRankedMaps();
+            if (newMaps == null || newMaps.isEmpty()) {
+                return;
+            }
+            DiscordLogger.sendLogInChannel(newMaps.size() + " newly ranked maps found.", DiscordLogger.INFO);
+            for (RankedMapsListener listener : listeners) {
+                listener.onNewlyRankedMaps(newMaps);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            DiscordLogger.sendLogInChannel(ExceptionUtils.getStackTrace(e), DiscordLogger.ERRORS);
+        }
+    }
+
+    private static void announceNewlyRankedMaps(List<BeatSaverRankedMap> newMaps, TextChannel channel) {
+        StringBuilder message = new StringBuilder();
+        newMaps.stream().limit(MAX_ANNOUNCED_MAPS).forEach(map -> message
+                .append(Format.link(map.getName(), ApiConstants.BS_DEFAULT_MAP_URL + map.getId()))
+                .append("\n"));
+        if (newMaps.size() > MAX_ANNOUNCED_MAPS) {
+            message.append("...and ").append(newMaps.size() - MAX_ANNOUNCED_MAPS).append(" more.");
+        }
+        Messages.sendMessageWithTitle(message.toString(), "🆕 Newly ranked maps", null, channel);
+    }
+
+    /**
+     * Runs a sync right away on the watcher thread, in addition to the scheduled ones.
+     */
+    public void syncNow() {
+        service.execute(this::sync);
+    }
+
+    public void start() {
+        // First sync right away, it revalidates a loaded snapshot or does the initial crawl
+        service.scheduleWithFixedDelay(this::sync, 0, SYNC_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    public interface RankedMapsListener {
+        void onNewlyRankedMaps(List<BeatSaverRankedMap> newMaps);
+    }
+}
@@ -8,11 +8,12 @@ import java.awt.image.BufferedImage;
 import java.io.IOException;
 
 public class ChartUtils {
-    public static void saveChart(Chart<?, ?> chart, String name) {
+    public static byte[] toPngBytes(Chart<?, ?> chart) {
         try {
-            BitmapEncoder.saveBitmap(chart, name, BitmapFormat.PNG);
+            return BitmapEncoder.getBitmapBytes(chart, BitmapFormat.PNG);
         } catch (IOException e) {
             e.printStackTrace();
+            return null;
         }
     }
 
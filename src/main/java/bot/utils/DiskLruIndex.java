@@ -0,0 +1,107 @@
+package bot.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tracks the files of a cache directory in least recently used order and deletes the oldest ones once the directory
+ * grows over its byte budget. The order is kept in the file modification times, so it survives restarts.
+ */
+public class DiskLruIndex {
+
+    private final Path directory;
+    private final String fileSuffix;
+    private final long maxBytes;
+    private LinkedHashMap<Path, Long> files;
+    private long currentBytes;
+
+    public DiskLruIndex(Path directory, String fileSuffix, long maxBytes) {
+        this.directory = directory;
+        this.fileSuffix = fileSuffix;
+        this.maxBytes = maxBytes;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Marks the file as just used.
+     *
+     * @return false if the file is not part of the cache
+     */
+    public boolean touch(Path file) {
+        synchronized (this) {
+            if (load().get(file) == null) {
+                return false;
+            }
+        }
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Only the order after a restart suffers
+        }
+        return true;
+    }
+
+    /**
+     * Registers a file that was just written and evicts the oldest files if the budget is exceeded.
+     */
+    public synchronized void add(Path file, long size) {
+        Long previous = load().put(file, size);
+        currentBytes += size - (previous == null ? 0 : previous);
+        Iterator<Map.Entry<Path, Long>> eldest = files.entrySet().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Path, Long> entry = eldest.next();
+            try {
+                Files.deleteIfExists(entry.getKey());
+            } catch (IOException e) {
+                System.out.println("Could not delete cache file " + entry.getKey() + ": " + e.getMessage());
+            }
+            currentBytes -= entry.getValue();
+            eldest.remove();
+        }
+    }
+
+    public synchronized void remove(Path file) {
+        Long size = load().remove(file);
+        if (size != null) {
+            currentBytes -= size;
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.out.println("Could not delete cache file " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public synchronized String getStatsSummary() {
+        return load().size() + " files, " + currentBytes / 1024 / 1024 + "/" + maxBytes / 1024 / 1024 + "MB";
+    }
+
+    private LinkedHashMap<Path, Long> load() {
+        if (files != null) {
+            return files;
+        }
+        files = new LinkedHashMap<>(256, 0.75f, true);
+        File[] existing = directory.toFile().listFiles((dir, name) -> name.endsWith(fileSuffix));
+        if (existing == null) {
+            directory.toFile().mkdirs();
+            return files;
+        }
+        Arrays.sort(existing, Comparator.comparingLong(File::lastModified));
+        for (File file : existing) {
+            files.put(file.toPath(), file.length());
+            currentBytes += file.length();
+        }
+        return files;
+    }
+}
@@ -1,16 +1,17 @@
 package bot.utils;
 
+import bot.graphics.RenderAssets;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 
 public class FontUtils {
 
     public static Font consolas(double size) {
-        return Font.loadFont(FontUtils.class.getClassLoader().getResourceAsStream("Consolas.ttf"), size);
+        return RenderAssets.font(RenderAssets.FontFace.CONSOLAS, size);
     }
 
     public static Font consolasBold(double size) {
-        return Font.loadFont(FontUtils.class.getClassLoader().getResourceAsStream("ConsolasBold.ttf"), size);
+        return RenderAssets.font(RenderAssets.FontFace.CONSOLAS_BOLD, size);
     }
 
     public static Color getDiffColor(int difficulty) {
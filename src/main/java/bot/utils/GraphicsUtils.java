@@ -6,7 +6,10 @@ import com.google.zxing.WriterException;
 import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
 
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
 
 public class GraphicsUtils {
 
@@ -19,4 +22,139 @@ public class GraphicsUtils {
         }
         return null;
     }
+
+    public static Color toAwtColor(javafx.scene.paint.Color color) {
+        return new Color((float) color.getRed(), (float) color.getGreen(), (float) color.getBlue(), (float) color.getOpacity());
+    }
+
+    public static Graphics2D createGraphics(BufferedImage canvas) {
+        Graphics2D g = canvas.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+        return g;
+    }
+
+    /**
+     * Draws an image scaled to the given height, keeping its aspect ratio like an FX ImageView with fitHeight.
+     *
+     * @return the drawn bounds
+     */
+    public static Rectangle2D drawImageFitHeight(Graphics2D g, Image image, double x, double y, double height) {
+        double width = image.getWidth(null) * height / image.getHeight(null);
+        g.drawImage(image, (int) Math.round(x), (int) Math.round(y), (int) Math.round(width), (int) Math.round(height), null);
+        return new Rectangle2D.Double(x, y, width, height);
+    }
+
+    public static Rectangle2D drawImageFitWidth(Graphics2D g, Image image, double x, double y, double width) {
+        double height = image.getHeight(null) * width / image.getWidth(null);
+        g.drawImage(image, (int) Math.round(x), (int) Math.round(y), (int) Math.round(width), (int) Math.round(height), null);
+        return new Rectangle2D.Double(x, y, width, height);
+    }
+
+    public static Shape getTextShape(Graphics2D g, String text, Font font, double x, double y) {
+        return font.createGlyphVector(g.getFontRenderContext(), text).getOutline((float) x, (float) y);
+    }
+
+    public static void drawText(Graphics2D g, String text, Font font, double x, double y, Color fill, Color shadowColor, double shadowRadius, double shadowSpread) {
+        Shape shape = getTextShape(g, text, font, x, y);
+        if (shadowColor != null) {
+            drawShadow(g, shape, shadowColor, shadowRadius, shadowSpread);
+        }
+        g.setColor(fill);
+        g.fill(shape);
+    }
+
+    /**
+     * Draws text with an outline outside of the glyphs, like an FX Text with StrokeType.OUTSIDE.
+     */
+    public static void drawOutlinedText(Graphics2D g, String text, Font font, double x, double y, Color fill, Color stroke, float strokeWidth, Color shadowColor, double shadowRadius, double shadowSpread) {
+        Shape shape = getTextShape(g, text, font, x, y);
+        Shape outline = new BasicStroke(strokeWidth * 2, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND).createStrokedShape(shape);
+        if (shadowColor != null) {
+            drawShadow(g, outline, shadowColor, shadowRadius, shadowSpread);
+        }
+        g.setColor(stroke);
+        g.fill(outline);
+        g.setColor(fill);
+        g.fill(shape);
+    }
+
+    public static void drawShadow(Graphics2D g, Shape shape, Color color, double radius, double spread) {
+        drawShadow(g, shape.getBounds(), mask -> mask.fill(shape), color, radius, spread);
+    }
+
+    public static void drawShadow(Graphics2D g, Image image, Rectangle2D bounds, Color color, double radius, double spread) {
+        drawShadow(g, bounds.getBounds(), mask -> mask.drawImage(image, (int) Math.round(bounds.getX()), (int) Math.round(bounds.getY()),
+                (int) Math.round(bounds.getWidth()), (int) Math.round(bounds.getHeight()), null), color, radius, spread);
+    }
+
+    /**
+     * Approximates an FX DropShadow without offset: the alpha mask of whatever maskPainter draws is blurred with three
+     * box blur passes, widened by the spread and tinted with the shadow color.
+     */
+    private static void drawShadow(Graphics2D g, Rectangle bounds, Consumer<Graphics2D> maskPainter, Color color, double radius, double spread) {
+        int pad = (int) Math.ceil(radius);
+        int width = bounds.width + pad * 2;
+        int height = bounds.height + pad * 2;
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        BufferedImage mask = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D maskGraphics = createGraphics(mask);
+        maskGraphics.translate(pad - bounds.x, pad - bounds.y);
+        maskPainter.accept(maskGraphics);
+        maskGraphics.dispose();
+
+        int[] pixels = mask.getRGB(0, 0, width, height, null, 0, width);
+        int[] alpha = new int[pixels.length];
+        for (int i = 0; i < pixels.length; i++) {
+            alpha[i] = pixels[i] >>> 24;
+        }
+        int boxRadius = (int) Math.round(radius / 3);
+        if (boxRadius > 0) {
+            int[] buffer = new int[alpha.length];
+            for (int pass = 0; pass < 3; pass++) {
+                boxBlur(alpha, buffer, width, height, boxRadius, true);
+                boxBlur(buffer, alpha, width, height, boxRadius, false);
+            }
+        }
+        int rgb = color.getRGB() & 0xFFFFFF;
+        int colorAlpha = color.getAlpha();
+        for (int i = 0; i < alpha.length; i++) {
+            int a = alpha[i];
+            if (a > 0) {
+                a = spread >= 1 ? 255 : Math.min(255, (int) (a / (1 - spread)));
+            }
+            pixels[i] = ((a * colorAlpha / 255) << 24) | rgb;
+        }
+        mask.setRGB(0, 0, width, height, pixels, 0, width);
+        g.drawImage(mask, bounds.x - pad, bounds.y - pad, null);
+    }
+
+    private static void boxBlur(int[] source, int[] target, int width, int height, int radius, boolean horizontal) {
+        int lines = horizontal ? height : width;
+        int length = horizontal ? width : height;
+        int window = radius * 2 + 1;
+        for (int line = 0; line < lines; line++) {
+            int sum = 0;
+            for (int i = -radius; i <= radius; i++) {
+                sum += valueAt(source, width, line, i, length, horizontal);
+            }
+            for (int i = 0; i < length; i++) {
+                int index = horizontal ? line * width + i : i * width + line;
+                target[index] = sum / window;
+                sum += valueAt(source, width, line, i + radius + 1, length, horizontal);
+                sum -= valueAt(source, width, line, i - radius, length, horizontal);
+            }
+        }
+    }
+
+    private static int valueAt(int[] source, int width, int line, int position, int length, boolean horizontal) {
+        if (position < 0 || position >= length) {
+            return 0;
+        }
+        return horizontal ? source[line * width + position] : source[position * width + line];
+    }
 }
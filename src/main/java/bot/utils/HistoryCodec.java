@@ -0,0 +1,125 @@
+package bot.utils;
+
+import java.util.Arrays;
+
+/**
+ * Compact binary form of a player's rank history: a format byte, the value count and then every value as a zigzag
+ * varint delta to its predecessor. Daily rank changes are small, so most values fit into one or two bytes.
+ */
+public class HistoryCodec {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    public static byte[] encode(int[] values) {
+        byte[] buffer = new byte[1 + 5 + values.length * 5];
+        int pos = 0;
+        buffer[pos++] = FORMAT_VERSION;
+        pos = writeVarint(buffer, pos, values.length);
+        int previous = 0;
+        for (int value : values) {
+            int delta = value - previous;
+            pos = writeVarint(buffer, pos, (delta << 1) ^ (delta >> 31));
+            previous = value;
+        }
+        return Arrays.copyOf(buffer, pos);
+    }
+
+    public static int[] decode(byte[] blob) {
+        if (blob == null || blob.length == 0 || blob[0] != FORMAT_VERSION) {
+            return null;
+        }
+        int[] pos = {1};
+        int count = readVarint(blob, pos);
+        int[] values = new int[count];
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            int zigzag = readVarint(blob, pos);
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    /**
+     * Parses the comma separated form ScoreSaber returns without boxing or intermediate strings. Accepts exactly what
+     * split(",") and Integer.parseInt accept: trailing commas are ignored, empty or malformed values are rejected.
+     */
+    public static int[] parse(String csv) {
+        if (csv == null || csv.isEmpty()) {
+            return null;
+        }
+        int end = csv.length();
+        while (end > 0 && csv.charAt(end - 1) == ',') {
+            end--;
+        }
+        if (end == 0) {
+            return new int[0];
+        }
+        int count = 1;
+        for (int i = 0; i < end; i++) {
+            if (csv.charAt(i) == ',') {
+                count++;
+            }
+        }
+        int[] values = new int[count];
+        int index = 0;
+        long current = 0;
+        boolean negative = false;
+        boolean hasDigits = false;
+        for (int i = 0; i <= end; i++) {
+            char c = i < end ? csv.charAt(i) : ',';
+            if (c == ',') {
+                if (!hasDigits) {
+                    throw new NumberFormatException("Empty history value in \"" + csv + "\"");
+                }
+                values[index++] = (int) (negative ? -current : current);
+                current = 0;
+                negative = false;
+                hasDigits = false;
+            } else if (c == '-' && !negative && !hasDigits) {
+                negative = true;
+            } else if (c >= '0' && c <= '9') {
+                current = current * 10 + (c - '0');
+                hasDigits = true;
+                if (current > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE)) {
+                    throw new NumberFormatException("History value out of range in \"" + csv + "\"");
+                }
+            } else {
+                throw new NumberFormatException("Invalid history value in \"" + csv + "\"");
+            }
+        }
+        return values;
+    }
+
+    public static String format(int[] values) {
+        StringBuilder csv = new StringBuilder(values.length * 6);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            csv.append(values[i]);
+        }
+        return csv.toString();
+    }
+
+    private static int writeVarint(byte[] buffer, int pos, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[pos++] = (byte) value;
+        return pos;
+    }
+
+    private static int readVarint(byte[] buffer, int[] pos) {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer[pos[0]++];
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in history blob");
+    }
+}
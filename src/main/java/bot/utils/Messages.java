@@ -7,16 +7,16 @@ import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.*;
 import net.dv8tion.jda.api.interactions.components.ActionRow;
 import net.dv8tion.jda.api.interactions.components.Button;
-import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 
 import java.awt.*;
-import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class Messages {
@@ -77,19 +77,26 @@ public class Messages {
     }
 
     public static void sendImage(String imagePath, String title, TextChannel channel) {
-        File imageFile = new File(title);
         try {
-            FileUtils.copyURLToFile(new URL(imagePath), imageFile);
+            byte[] image = IOUtils.toByteArray(new URL(imagePath));
+            channel.sendFile(image, title + imagePath.substring(imagePath.length() - 4)).queue();
         } catch (IOException e) {
             e.printStackTrace();
         }
-        channel.sendFile(imageFile, title + imagePath.substring(imagePath.length() - 4)).queue();
-        imageFile.delete();
     }
 
-    public static void sendImage(File image, String title, TextChannel channel) {
-        channel.sendFile(image, title).queue();
-        image.delete();
+    public static void sendImage(byte[] image, String fileName, TextChannel channel) {
+        channel.sendFile(image, fileName).queue();
+    }
+
+    public static void sendRenderedImage(CompletableFuture<byte[]> render, String fileName, TextChannel channel) {
+        render.whenComplete((image, error) -> {
+            if (error != null) {
+                DiscordLogger.sendLogInChannel("Image wasnt generated. " + fileName + ": " + error, DiscordLogger.ERRORS);
+                return;
+            }
+            sendImage(image, fileName, channel);
+        });
     }
 
     public static void sendPlainMessage(String message, TextChannel channel) {
@@ -171,8 +178,8 @@ public class Messages {
         }
     }
 
-    public static void sendFile(File file, String fileName, MessageChannel channel) {
-        channel.sendFile(file, fileName).queue();
+    public static void sendFile(byte[] content, String fileName, MessageChannel channel) {
+        channel.sendFile(content, fileName).queue();
     }
 
     public static void sendPrivateMessage(String msg, Member member) {
@@ -0,0 +1,189 @@
+package bot.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Deterministic API payloads shaped like the real BeatSavior livescores and BeatSaver ranked search responses, so
+ * benchmarks do not depend on the network or on checked in captures.
+ */
+final class Payloads {
+
+    private static final String[] DIFFICULTIES = {"Easy", "Normal", "Hard", "Expert", "ExpertPlus"};
+
+    private Payloads() {
+    }
+
+    /**
+     * A livescores array as BeatSavior returns it. Every score carries its full trackers, including the score graph
+     * with one entry per second of the song, which makes up most of the payload.
+     */
+    static byte[] beatSaviorLivescores(int scores) {
+        Random random = new Random(scores);
+        StringBuilder json = new StringBuilder(scores * 6000);
+        json.append('[');
+        for (int i = 0; i < scores; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            int duration = 90 + random.nextInt(240);
+            json.append("{\"_id\":\"").append(hex(random, 24)).append('"')
+                    .append(",\"songDataType\":1")
+                    .append(",\"playerID\":\"76561198").append(100000000 + random.nextInt(900000000)).append('"')
+                    .append(",\"songID\":\"").append(hex(random, 40)).append('"')
+                    .append(",\"songDifficulty\":\"").append(DIFFICULTIES[random.nextInt(DIFFICULTIES.length)].toLowerCase(Locale.ROOT)).append('"')
+                    .append(",\"songName\":\"Song ").append(i).append('"')
+                    .append(",\"songArtist\":\"Artist ").append(random.nextInt(500)).append('"')
+                    .append(",\"songMapper\":\"Mapper ").append(random.nextInt(200)).append('"')
+                    .append(",\"songSpeed\":1,\"songStartTime\":0")
+                    .append(",\"songDuration\":").append(duration).append(".5")
+                    .append(",\"timeSet\":\"2021-10-").append(10 + random.nextInt(18)).append("T12:34:56.789Z\"")
+                    .append(",\"trackers\":{");
+            json.append("\"hitTracker\":{\"leftNoteHit\":").append(random.nextInt(600))
+                    .append(",\"rightNoteHit\":").append(random.nextInt(600))
+                    .append(",\"bombHit\":").append(random.nextInt(3))
+                    .append(",\"miss\":").append(random.nextInt(20))
+                    .append(",\"maxCombo\":").append(random.nextInt(1200)).append('}');
+            json.append(",\"accuracyTracker\":{");
+            String[] accuracyFields = {"accRight", "accLeft", "averageAcc", "leftSpeed", "rightSpeed", "averageSpeed",
+                    "leftPreswing", "rightPreswing", "averagePreswing", "leftPostswing", "rightPostswing", "averagePostswing"};
+            for (String field : accuracyFields) {
+                json.append('"').append(field).append("\":").append(decimal(random, 115)).append(',');
+            }
+            json.append("\"leftAverageCut\":").append(decimals(random, 3, 70))
+                    .append(",\"rightAverageCut\":").append(decimals(random, 3, 70))
+                    .append(",\"averageCut\":").append(decimals(random, 3, 70))
+                    .append(",\"gridAcc\":").append(decimals(random, 12, 115))
+                    .append(",\"gridCut\":").append(integers(random, 12, 150)).append('}');
+            json.append(",\"scoreTracker\":{\"rawScore\":").append(500000 + random.nextInt(500000))
+                    .append(",\"score\":").append(500000 + random.nextInt(500000))
+                    .append(",\"personalBest\":").append(500000 + random.nextInt(500000))
+                    .append(",\"rawRatio\":").append(decimal(random, 1))
+                    .append(",\"modifiedRatio\":").append(decimal(random, 1))
+                    .append(",\"personalBestRawRatio\":").append(decimal(random, 1))
+                    .append(",\"personalBestModifiedRatio\":").append(decimal(random, 1))
+                    .append(",\"modifiersMultiplier\":1,\"modifiers\":[]}");
+            json.append(",\"winTracker\":{\"won\":true,\"rank\":\"SS\",\"endTime\":").append(duration)
+                    .append(",\"nbOfPause\":").append(random.nextInt(3)).append('}');
+            json.append(",\"distanceTracker\":{\"rightSaber\":").append(decimal(random, 900))
+                    .append(",\"leftSaber\":").append(decimal(random, 900))
+                    .append(",\"rightHand\":").append(decimal(random, 300))
+                    .append(",\"leftHand\":").append(decimal(random, 300)).append('}');
+            json.append(",\"scoreGraphTracker\":{\"graph\":{");
+            for (int second = 0; second < duration; second++) {
+                if (second > 0) {
+                    json.append(',');
+                }
+                json.append('"').append(second).append("\":").append(decimal(random, 1));
+            }
+            json.append("}}}}");
+        }
+        json.append(']');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A page of the BeatSaver ranked search, {"docs": [...]}, with one to three versions per map.
+     */
+    static byte[] rankedMapsPage(int maps, int firstId) {
+        Random random = new Random(firstId * 31L + maps);
+        StringBuilder json = new StringBuilder(maps * 3000);
+        json.append("{\"docs\":[");
+        for (int i = 0; i < maps; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            String id = Integer.toHexString(firstId + i);
+            json.append("{\"id\":\"").append(id).append('"')
+                    .append(",\"name\":\"Ranked map ").append(firstId + i).append('"')
+                    .append(",\"description\":\"").append(hex(random, 120)).append('"')
+                    .append(",\"uploader\":{\"id\":").append(random.nextInt(100000))
+                    .append(",\"name\":\"Mapper ").append(random.nextInt(200)).append('"')
+                    .append(",\"hash\":\"").append(hex(random, 24)).append('"')
+                    .append(",\"avatar\":\"https://cdn.beatsaver.com/avatar/").append(hex(random, 16)).append(".png\"")
+                    .append(",\"type\":\"SIMPLE\",\"uniqueSet\":true}")
+                    .append(",\"metadata\":{\"bpm\":").append(90 + random.nextInt(150))
+                    .append(",\"duration\":").append(90 + random.nextInt(240))
+                    .append(",\"songName\":\"Song ").append(firstId + i).append('"')
+                    .append(",\"songSubName\":\"\"")
+                    .append(",\"songAuthorName\":\"Artist ").append(random.nextInt(500)).append('"')
+                    .append(",\"levelAuthorName\":\"Mapper ").append(random.nextInt(200)).append("\"}")
+                    .append(",\"stats\":{\"plays\":0,\"downloads\":").append(random.nextInt(100000))
+                    .append(",\"upvotes\":").append(random.nextInt(5000))
+                    .append(",\"downvotes\":").append(random.nextInt(500))
+                    .append(",\"score\":").append(decimal(random, 1)).append('}')
+                    .append(",\"uploaded\":\"2021-0").append(1 + random.nextInt(9)).append("-15T10:00:00.000Z\"")
+                    .append(",\"automapper\":false,\"ranked\":true,\"qualified\":false")
+                    .append(",\"versions\":[");
+            int versions = 1 + random.nextInt(3);
+            for (int v = 0; v < versions; v++) {
+                if (v > 0) {
+                    json.append(',');
+                }
+                String hash = hex(random, 40);
+                json.append("{\"hash\":\"").append(hash).append('"')
+                        .append(",\"key\":\"").append(id).append('"')
+                        .append(",\"state\":\"Published\"")
+                        .append(",\"createdAt\":\"2021-0").append(1 + random.nextInt(9)).append("-15T10:00:00.000Z\"")
+                        .append(",\"sageScore\":").append(random.nextInt(4))
+                        .append(",\"diffs\":[");
+                int diffs = 1 + random.nextInt(DIFFICULTIES.length);
+                for (int d = 0; d < diffs; d++) {
+                    if (d > 0) {
+                        json.append(',');
+                    }
+                    json.append("{\"njs\":").append(10 + random.nextInt(12))
+                            .append(",\"offset\":0,\"notes\":").append(200 + random.nextInt(1500))
+                            .append(",\"bombs\":").append(random.nextInt(100))
+                            .append(",\"obstacles\":").append(random.nextInt(100))
+                            .append(",\"nps\":").append(decimal(random, 12))
+                            .append(",\"length\":").append(decimal(random, 600))
+                            .append(",\"characteristic\":\"Standard\"")
+                            .append(",\"difficulty\":\"").append(DIFFICULTIES[DIFFICULTIES.length - diffs + d]).append('"')
+                            .append(",\"events\":").append(random.nextInt(3000))
+                            .append(",\"chroma\":false,\"me\":false,\"ne\":false,\"cinema\":false")
+                            .append(",\"seconds\":").append(decimal(random, 300))
+                            .append(",\"paritySummary\":{\"errors\":0,\"warns\":").append(random.nextInt(20)).append(",\"resets\":0}")
+                            .append(",\"stars\":").append(decimal(random, 12)).append('}');
+                }
+                json.append("],\"downloadURL\":\"https://cdn.beatsaver.com/").append(hash).append(".zip\"")
+                        .append(",\"coverURL\":\"https://cdn.beatsaver.com/").append(hash).append(".jpg\"")
+                        .append(",\"previewURL\":\"https://cdn.beatsaver.com/").append(hash).append(".mp3\"}");
+            }
+            json.append("],\"createdAt\":\"2021-01-15T10:00:00.000Z\"")
+                    .append(",\"updatedAt\":\"2021-06-15T10:00:00.000Z\"")
+                    .append(",\"lastPublishedAt\":\"2021-01-15T10:00:00.000Z\"}");
+        }
+        json.append("]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String hex(Random random, int length) {
+        StringBuilder hex = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            hex.append(Character.forDigit(random.nextInt(16), 16));
+        }
+        return hex.toString();
+    }
+
+    private static String decimal(Random random, double max) {
+        return String.format(Locale.ROOT, "%.6f", random.nextDouble() * max);
+    }
+
+    private static String decimals(Random random, int count, double max) {
+        StringBuilder values = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            values.append(i > 0 ? "," : "").append(decimal(random, max));
+        }
+        return values.append(']').toString();
+    }
+
+    private static String integers(Random random, int count, int max) {
+        StringBuilder values = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            values.append(i > 0 ? "," : "").append(random.nextInt(max));
+        }
+        return values.append(']').toString();
+    }
+}
@@ -0,0 +1,91 @@
+package bot.api;
+
+import bot.dto.rankedmaps.BeatSaverRankedMap;
+import bot.dto.rankedmaps.BeatSaverRankedMaps;
+import bot.dto.rankedmaps.RankedMaps;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup cost of the ranked set: loading and indexing the snapshot, against binding the same maps from the JSON
+ * pages the crawl downloads (the network time of the crawl comes on top of that and is not measured).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RankedMapsSnapshotBenchmark {
+
+    private static final int MAPS_PER_PAGE = 20;
+
+    @Param({"1000", "5000"})
+    public int maps;
+
+    private Path directory;
+    private RankedMapsSnapshot snapshot;
+    private List<byte[]> pages;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        pages = new ArrayList<>();
+        List<BeatSaverRankedMap> rankedMaps = new ArrayList<>();
+        for (int first = 0; first < maps; first += MAPS_PER_PAGE) {
+            byte[] page = Payloads.rankedMapsPage(Math.min(MAPS_PER_PAGE, maps - first), 0x1000 + first);
+            pages.add(page);
+            BeatSaverRankedMaps pageResult = HttpMethods.read(new ByteArrayInputStream(page), BeatSaverRankedMaps.class);
+            rankedMaps.addAll(pageResult.getRankedMaps());
+        }
+        directory = Files.createTempDirectory("ranked-snapshot-bench");
+        snapshot = new RankedMapsSnapshot(directory.resolve("ranked_maps.snapshot"));
+        snapshot.write(rankedMaps);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve("ranked_maps.snapshot"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public RankedMaps loadSnapshot() {
+        List<BeatSaverRankedMap> loaded = snapshot.load();
+        if (loaded == null || loaded.size() != maps) {
+            throw new IllegalStateException("Snapshot could not be loaded");
+        }
+        RankedMaps rankedMaps = new RankedMaps();
+        rankedMaps.setRankedMaps(loaded);
+        return rankedMaps;
+    }
+
+    @Benchmark
+    public RankedMaps bindCrawledPages() throws IOException {
+        List<BeatSaverRankedMap> crawled = new ArrayList<>(maps);
+        for (byte[] page : pages) {
+            crawled.addAll(HttpMethods.read(new ByteArrayInputStream(page), BeatSaverRankedMaps.class).getRankedMaps());
+        }
+        RankedMaps rankedMaps = new RankedMaps();
+        rankedMaps.setRankedMaps(crawled);
+        return rankedMaps;
+    }
+}
@@ -0,0 +1,92 @@
+package bot.api;
+
+import bot.dto.beatsavior.BeatSaviorPlayerScore;
+import bot.dto.beatsavior.BeatSaviorPlayerScores;
+import bot.dto.rankedmaps.BeatSaverRankedMaps;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding the large BeatSavior livescores and BeatSaver ranked payloads from a response stream, against the previous
+ * path of buffering the body as a String, building a JsonElement tree and binding that (for BeatSavior after printing
+ * it into a wrapper object and parsing it again). Run with {@code -prof gc} and compare gc.alloc.rate.norm.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamingBindBenchmark {
+
+    private static final Gson gson = new Gson();
+
+    @State(Scope.Benchmark)
+    public static class Livescores {
+        @Param({"100", "1000"})
+        public int scores;
+
+        private byte[] payload;
+
+        @Setup
+        public void setUp() {
+            payload = Payloads.beatSaviorLivescores(scores);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RankedPage {
+        @Param({"20", "500"})
+        public int maps;
+
+        private byte[] payload;
+
+        @Setup
+        public void setUp() {
+            payload = Payloads.rankedMapsPage(maps, 0x1000);
+        }
+    }
+
+    @Benchmark
+    public BeatSaviorPlayerScores livescoresBufferedTree(Livescores livescores) throws IOException {
+        String body = IOUtils.toString(new ByteArrayInputStream(livescores.payload), StandardCharsets.UTF_8);
+        JsonArray playerMaps = JsonParser.parseString(body).getAsJsonArray();
+        return gson.fromJson("{\"playerMaps\": " + playerMaps + "}", BeatSaviorPlayerScores.class);
+    }
+
+    @Benchmark
+    public List<BeatSaviorPlayerScore> livescoresStreaming(Livescores livescores) throws IOException {
+        return HttpMethods.readList(new ByteArrayInputStream(livescores.payload), BeatSaviorPlayerScore.class, null);
+    }
+
+    @Benchmark
+    public BeatSaverRankedMaps rankedBufferedTree(RankedPage page) throws IOException {
+        String body = IOUtils.toString(new ByteArrayInputStream(page.payload), StandardCharsets.UTF_8);
+        JsonObject rankedMapsJson = JsonParser.parseString(body).getAsJsonObject();
+        return gson.fromJson(rankedMapsJson, BeatSaverRankedMaps.class);
+    }
+
+    @Benchmark
+    public BeatSaverRankedMaps rankedStreaming(RankedPage page) throws IOException {
+        return HttpMethods.read(new ByteArrayInputStream(page.payload), BeatSaverRankedMaps.class);
+    }
+}
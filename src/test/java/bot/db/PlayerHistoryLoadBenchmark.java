@@ -0,0 +1,104 @@
+package bot.db;
+
+import bot.dto.player.Player;
+import bot.utils.HistoryCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The history part of a full player table load, i.e. what readPlayer does per row once JDBC handed over the column
+ * values: splitting and boxing the comma separated string as before, against taking the blob as is. The decode
+ * variants add the cost a chart or the improvement command pays when it actually reads every history.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlayerHistoryLoadBenchmark {
+
+    // ScoreSaber reports the last 50 days
+    private static final int HISTORY_DAYS = 50;
+
+    @Param({"1000", "10000"})
+    public int players;
+
+    private String[] historyStrings;
+    private byte[][] historyBlobs;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(players);
+        historyStrings = new String[players];
+        historyBlobs = new byte[players][];
+        for (int i = 0; i < players; i++) {
+            int[] history = new int[HISTORY_DAYS];
+            int rank = 1 + random.nextInt(100000);
+            for (int day = 0; day < HISTORY_DAYS; day++) {
+                rank = Math.max(1, rank + random.nextInt(41) - 20);
+                history[day] = rank;
+            }
+            historyStrings[i] = HistoryCodec.format(history);
+            historyBlobs[i] = HistoryCodec.encode(history);
+        }
+    }
+
+    @Benchmark
+    public List<List<Integer>> loadStringsBoxed() {
+        List<List<Integer>> histories = new ArrayList<>(players);
+        for (String historyString : historyStrings) {
+            histories.add(Arrays.stream(historyString.split(",")).map(Integer::parseInt).collect(Collectors.toList()));
+        }
+        return histories;
+    }
+
+    @Benchmark
+    public List<Player> loadBlobs() {
+        List<Player> loaded = new ArrayList<>(players);
+        for (byte[] blob : historyBlobs) {
+            Player player = new Player();
+            player.setHistoryBlob(blob);
+            loaded.add(player);
+        }
+        return loaded;
+    }
+
+    @Benchmark
+    public long loadBlobsAndDecode() {
+        long sum = 0;
+        for (Player player : loadBlobs()) {
+            int[] history = player.getHistory();
+            sum += history[history.length - 1];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long loadStringsAndParse() {
+        long sum = 0;
+        for (String historyString : historyStrings) {
+            Player player = new Player();
+            player.setHistories(historyString);
+            int[] history = player.getHistory();
+            sum += history[history.length - 1];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,74 @@
+package bot.graphics;
+
+import javafx.embed.swing.SwingFXUtils;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the Java2D render of a job with its FX snapshot pixel by pixel. Prism and Java2D rasterize and antialias
+ * glyphs differently, so a pixel only counts as different if one of its channels is off by more than
+ * {@link #CHANNEL_TOLERANCE}, and up to {@link #MAX_DIFFERENT_PIXELS} of the image may differ. A text moved or sized
+ * differently between the two backends changes far more than that.
+ */
+public class Java2DRenderTest {
+
+    private static final int CHANNEL_TOLERANCE = 64;
+    private static final double MAX_DIFFERENT_PIXELS = 0.02;
+
+    @BeforeClass
+    public static void requireAssets() {
+        assertEquals("Render assets missing from src/main/resources", Collections.emptyList(), RenderFixtures.missingAssets());
+        RenderService.startFx();
+    }
+
+    @Test
+    public void accuracyGridMatchesFxSnapshot() throws Exception {
+        assertMatchesFxSnapshot(RenderFixtures.accuracyGrid());
+    }
+
+    @Test
+    public void songsMatchesFxSnapshot() throws Exception {
+        assertMatchesFxSnapshot(RenderFixtures.songs());
+    }
+
+    @Test
+    public void profileMatchesFxSnapshot() throws Exception {
+        assertMatchesFxSnapshot(RenderFixtures.profile());
+    }
+
+    private static void assertMatchesFxSnapshot(Java2DRenderJob job) throws Exception {
+        BufferedImage fx = SwingFXUtils.fromFXImage(RenderService.snapshot(job.createNode(), job).get(30, TimeUnit.SECONDS), null);
+        BufferedImage java2d = job.renderImage();
+        assertFalse(job.getName() + " fell back to a placeholder image", job.isDegraded());
+        assertEquals(job.getName() + " width", fx.getWidth(), java2d.getWidth());
+        assertEquals(job.getName() + " height", fx.getHeight(), java2d.getHeight());
+
+        long different = 0;
+        for (int y = 0; y < fx.getHeight(); y++) {
+            for (int x = 0; x < fx.getWidth(); x++) {
+                if (maxChannelDifference(fx.getRGB(x, y), java2d.getRGB(x, y)) > CHANNEL_TOLERANCE) {
+                    different++;
+                }
+            }
+        }
+        double ratio = (double) different / ((long) fx.getWidth() * fx.getHeight());
+        assertTrue(job.getName() + ": " + different + " pixels (" + String.format("%.2f", ratio * 100) + "%) differ from the FX snapshot",
+                ratio <= MAX_DIFFERENT_PIXELS);
+    }
+
+    private static int maxChannelDifference(int argb, int other) {
+        int max = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            max = Math.max(max, Math.abs(((argb >>> shift) & 0xff) - ((other >>> shift) & 0xff)));
+        }
+        return max;
+    }
+}
@@ -0,0 +1,156 @@
+package bot.graphics;
+
+import bot.dto.player.Player;
+import bot.dto.scoresaber.PlayerScore;
+import bot.utils.GraphicsUtils;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Render jobs that draw only bundled assets, so the render tests and benchmarks do not depend on the network. Covers
+ * and player pictures are the bundled test image fixtures/cover.png.
+ */
+final class RenderFixtures {
+
+    private static final String COVER_RESOURCE = "fixtures/cover.png";
+    private static final String COVER_URL = "https://cdn.scoresaber.com/covers/fixture.png";
+
+    private RenderFixtures() {
+    }
+
+    /**
+     * @return the base images that are not on the classpath
+     */
+    static List<String> missingAssets() {
+        List<String> missing = new ArrayList<>();
+        for (RenderAssets.BaseImage image : RenderAssets.BaseImage.values()) {
+            if (RenderFixtures.class.getClassLoader().getResource(image.getResource()) == null) {
+                missing.add(image.getResource());
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Every accuracy color band, one cell without notes (NaN) and note counts of one to four digits.
+     */
+    static AccuracyGrid accuracyGrid() {
+        List<Float> accuracyValues = Arrays.asList(113.5f, 111.2f, 107.9f, 105.1f, 103.4f, 99.8f, Float.NaN, 112.0f, 108.3f, 104.6f, 101.7f, 114.9f);
+        List<Integer> notesCounts = Arrays.asList(1, 12, 123, 1234, 56, 78, 0, 910, 11, 213, 1415, 16);
+        return new AccuracyGrid(accuracyValues, notesCounts, null);
+    }
+
+    /**
+     * Ranked rows at player leaderboard ranks 1, 3, 5 and 12, an unranked row, a long and a very long title, map ranks
+     * of one to four digits, star values with one and two integer digits, and rows past the fifth whose star shadow
+     * changes. Every cover comes from a pre-seeded {@link CoverThumbnailStore} directory.
+     */
+    static SongsImage songs() {
+        List<PlayerScore> scores = Arrays.asList(
+                score("Ghost", "Rustic", 9, 1, 412.37, 1f, 11.42f, "2021-03-04T18:22:10.000Z", 0.9612),
+                score("Reality Check Through The Skull", "Joetastic", 9, 27, 388.91, weight(3), 10.87f, "2021-02-11T09:01:55.000Z", 0.9433),
+                score("Tokyo Ghetto", "Nolanimations", 7, 184, 301.4, weight(5), 8.25f, "2020-12-24T23:59:59.000Z", 0.9517),
+                score("Night of Nights (Remix)", "Skeelie", 9, 1999, 280.02, weight(12), 9.6f, "2020-11-02T12:30:00.000Z", 0.9388),
+                score("Lost Days of a Very Long Song Name Nobody Reads", "Hexagonial", 5, 7, 0, 0f, 0f, "2020-10-15T07:45:12.000Z", 0.9102),
+                score("Milk Crown on Sonnetica", "Fvrwvrd", 9, 3, 355.5, weight(7), 10.11f, "2020-09-30T20:10:10.000Z", 0.9605),
+                score("Sacrifice", "Emilia", 3, 58, 122.75, weight(18), 4.33f, "2020-08-01T16:00:00.000Z", 0.9811));
+        Path coverDirectory = seedCovers(scores);
+        return new SongsImage(scores, new CoverThumbnailStore(coverDirectory, Long.MAX_VALUE));
+    }
+
+    /**
+     * A player with a rank history for the chart, the bundled cover as picture and a real QR code.
+     */
+    static ProfileImage profile() {
+        Player player = new Player();
+        player.setId("76561198000000000");
+        player.setName("Fixture");
+        player.setRank(1234);
+        player.setCountryRank(56);
+        player.setPp(9876.5f);
+        player.setCountry("DE");
+        player.setHistories("2200,2150,2010,1900,1950,1870,1700,1650,1500,1420,1390,1300,1280,1234");
+        BufferedImage qrCode = GraphicsUtils.generateQRCode(player.getProfileURL(), GraphicsConstants.profileQrCodeWidth,
+                GraphicsConstants.profileQrCodeHeight);
+        return new ProfileImage(player, qrCode, cover());
+    }
+
+    private static float weight(int rankOnPlayerLeaderboard) {
+        return (float) Math.pow(0.965, rankOnPlayerLeaderboard - 1);
+    }
+
+    private static PlayerScore score(String songName, String author, int difficulty, int rank, double pp, float weight, float stars,
+                                     String timeSet, double accuracy) {
+        JsonObject score = new JsonObject();
+        score.addProperty("id", rank * 31 + difficulty);
+        score.addProperty("rank", rank);
+        score.addProperty("pp", pp);
+        score.addProperty("weight", weight);
+        score.addProperty("timeSet", timeSet);
+
+        JsonObject diff = new JsonObject();
+        diff.addProperty("difficulty", difficulty);
+
+        JsonObject leaderboard = new JsonObject();
+        leaderboard.addProperty("id", rank * 17 + difficulty);
+        leaderboard.addProperty("songName", songName);
+        leaderboard.addProperty("levelAuthorName", author);
+        leaderboard.addProperty("songHash", Integer.toHexString(songName.hashCode()).toUpperCase());
+        leaderboard.addProperty("stars", stars);
+        leaderboard.add("difficulty", diff);
+
+        JsonObject json = new JsonObject();
+        json.add("score", score);
+        json.add("leaderboard", leaderboard);
+
+        PlayerScore playerScore = new Gson().fromJson(json, PlayerScore.class);
+        playerScore.getScore().setAccuracy(accuracy);
+        playerScore.setCoverURL(COVER_URL);
+        playerScore.setSongStars(stars);
+        return playerScore;
+    }
+
+    private static Path seedCovers(List<PlayerScore> scores) {
+        try {
+            Path directory = Files.createTempDirectory("render-fixture-covers");
+            directory.toFile().deleteOnExit();
+            for (PlayerScore score : scores) {
+                Path tile = directory.resolve(score.getLeaderboard().getSongHash().toLowerCase() + "_" + SongsImage.COVER_SIZE + ".png");
+                try (InputStream in = coverStream()) {
+                    Files.copy(in, tile);
+                }
+                tile.toFile().deleteOnExit();
+            }
+            return directory;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static BufferedImage cover() {
+        try (InputStream in = coverStream()) {
+            return ImageIO.read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static InputStream coverStream() throws IOException {
+        InputStream in = RenderFixtures.class.getClassLoader().getResourceAsStream(COVER_RESOURCE);
+        if (in == null) {
+            throw new IOException("Test resource " + COVER_RESOURCE + " is missing");
+        }
+        return in;
+    }
+}
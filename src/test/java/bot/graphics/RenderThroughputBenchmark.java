@@ -0,0 +1,89 @@
+package bot.graphics;
+
+import javafx.embed.swing.SwingFXUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders per second of the FX and the Java2D backend for the same jobs, PNG encoding included. Run with {@code -t 4}
+ * (or the render worker count) to see how each scales: FX snapshots all queue on the single application thread, Java2D
+ * renders do not share anything. Without a display it needs the Monocle properties the surefire configuration sets.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw"})
+@State(Scope.Benchmark)
+public class RenderThroughputBenchmark {
+
+    private AccuracyGrid accuracyGrid;
+    private SongsImage songs;
+    private ProfileImage profile;
+
+    @Setup
+    public void setUp() {
+        if (!RenderFixtures.missingAssets().isEmpty()) {
+            throw new IllegalStateException("Render assets missing from src/main/resources: " + RenderFixtures.missingAssets());
+        }
+        RenderAssets.warmUp();
+        RenderService.startFx();
+        accuracyGrid = RenderFixtures.accuracyGrid();
+        songs = RenderFixtures.songs();
+        profile = RenderFixtures.profile();
+    }
+
+    @Benchmark
+    public byte[] accuracyGridFx() throws Exception {
+        return renderFx(accuracyGrid);
+    }
+
+    @Benchmark
+    public byte[] accuracyGridJava2D() throws Exception {
+        return encodePng(accuracyGrid.renderImage());
+    }
+
+    @Benchmark
+    public byte[] songsFx() throws Exception {
+        return renderFx(songs);
+    }
+
+    @Benchmark
+    public byte[] songsJava2D() throws Exception {
+        return encodePng(songs.renderImage());
+    }
+
+    @Benchmark
+    public byte[] profileFx() throws Exception {
+        return renderFx(profile);
+    }
+
+    @Benchmark
+    public byte[] profileJava2D() throws Exception {
+        return encodePng(profile.renderImage());
+    }
+
+    private static byte[] renderFx(RenderJob job) throws Exception {
+        return encodePng(SwingFXUtils.fromFXImage(RenderService.snapshot(job.createNode(), job).get(30, TimeUnit.SECONDS), null));
+    }
+
+    private static byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}